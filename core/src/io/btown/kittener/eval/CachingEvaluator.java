@@ -0,0 +1,96 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.neat.Network;
+
+import java.util.*;
+
+/**
+ * Remembers the fitness of recently evaluated genomes so that unchanged champions cloned into the next generation, and
+ * duplicate genomes within a generation, are only played once. Only valid for deterministic environments like the
+ * headless {@link Episode}; the GameScreen steps by frame time so its scores vary between identical networks.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class CachingEvaluator implements Evaluator {
+    /** Evaluates the genomes that are not cached. */
+    private final Evaluator evaluator;
+
+    /** Fitness of recently evaluated genomes by their hash, least recently used first. */
+    private final Map<Long, Double> cache;
+
+    /** The number of networks whose fitness came from the cache during the last evaluation. */
+    private int lastHits;
+
+    /**
+     * Constructor for a caching evaluator.
+     * @param evaluator Evaluates the genomes that are not cached.
+     * @param capacity The maximum number of genomes to remember.
+     */
+    public CachingEvaluator(Evaluator evaluator, int capacity) {
+        this.evaluator = evaluator;
+        this.cache = new LinkedHashMap<Long, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Double> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.lastHits = 0;
+    }
+
+    /**
+     * Evaluates the networks, only passing on the ones whose genome has no cached fitness. Genomes that appear more
+     * than once are passed on once.
+     * @param networks The networks to evaluate.
+     * @return The fitness of each network, in the same order as the supplied networks.
+     */
+    @Override
+    public double[] evaluate(List<Network> networks) {
+        double[] fitness = new double[networks.size()];
+        List<Network> toEvaluate = new ArrayList<>();
+        Map<Long, List<Integer>> indicesByHash = new LinkedHashMap<>();
+        lastHits = 0;
+
+        for(int i = 0; i < networks.size(); i++) {
+            long hash = networks.get(i).getGenomeHash();
+            Double cached = cache.get(hash);
+            if(cached != null) {
+                fitness[i] = cached;
+                lastHits++;
+            } else {
+                List<Integer> indices = indicesByHash.get(hash);
+                if(indices == null) {
+                    indices = new ArrayList<>();
+                    indicesByHash.put(hash, indices);
+                    toEvaluate.add(networks.get(i));
+                } else {
+                    lastHits++;
+                }
+                indices.add(i);
+            }
+        }
+
+        if(!toEvaluate.isEmpty()) {
+            double[] results = evaluator.evaluate(toEvaluate);
+            int result = 0;
+            for(Map.Entry<Long, List<Integer>> entry : indicesByHash.entrySet()) {
+                cache.put(entry.getKey(), results[result]);
+                for(int index : entry.getValue()) {
+                    fitness[index] = results[result];
+                }
+                result++;
+            }
+        }
+
+        networks.forEach(Network::markEvaluated);
+        return fitness;
+    }
+
+    /**
+     * Returns the number of networks whose fitness came from the cache during the last evaluation, including
+     * duplicates of a genome that was played during it.
+     * @return The number of networks that were not played during the last evaluation.
+     */
+    public int getLastHits() {
+        return lastHits;
+    }
+}
@@ -0,0 +1,379 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.neat.GenomeCodec;
+import io.btown.kittener.neat.Network;
+import io.btown.kittener.neat.NetworkBatch;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Evaluates networks by streaming them in batches to worker processes (see {@link Worker}) that connect over TCP.
+ * Each worker only ever holds a limited number of batches at once, so fast workers receive more of the generation
+ * than slow ones. Workers that disconnect or stop sending heartbeats have their batches handed to other workers.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class Coordinator implements Evaluator, Closeable {
+    /** Socket the workers connect to. */
+    private final ServerSocket server;
+
+    /** The number of networks sent to a worker in a single batch. */
+    private final int batchSize;
+
+    /** The number of batches a worker may hold at once before it has to return a result. */
+    private final int maxInFlight;
+
+    /** Every worker that is currently connected. */
+    private final List<Connection> connections;
+
+    /** Batches waiting to be sent to a worker. */
+    private final Deque<Batch> pending;
+
+    /** Guards the pending batches, every connections' in-flight batches and the remaining count. */
+    private final Object lock;
+
+    /** The id the next batch is given. */
+    private int nextBatchId;
+
+    /** The number of batches of the current evaluation that have not returned a result yet. */
+    private int remaining;
+
+    private volatile boolean closed;
+
+    /**
+     * Starts listening for workers on the loopback interface.
+     * @param port The port to listen on, or 0 to pick any free port.
+     * @param batchSize The number of networks sent to a worker in a single batch.
+     * @param maxInFlight The number of batches a worker may hold at once.
+     * @throws IOException If the port could not be opened.
+     */
+    public Coordinator(int port, int batchSize, int maxInFlight) throws IOException {
+        this.server      = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.batchSize   = batchSize;
+        this.maxInFlight = maxInFlight;
+        connections      = new CopyOnWriteArrayList<>();
+        pending          = new ArrayDeque<>();
+        lock             = new Object();
+        nextBatchId      = 0;
+        remaining        = 0;
+        closed           = false;
+
+        Thread acceptor = new Thread(this::acceptWorkers, "coordinator-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port workers should connect to.
+     * @return The port workers should connect to.
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Returns the number of workers currently connected.
+     * @return The number of workers currently connected.
+     */
+    public int getNumWorkers() {
+        return connections.size();
+    }
+
+    /**
+     * Returns the number of batches that have been sent to a worker and not returned yet.
+     * @return The number of batches currently held by workers.
+     */
+    int getNumInFlight() {
+        synchronized(lock) {
+            int numInFlight = 0;
+            for(Connection connection : connections) {
+                numInFlight += connection.inFlight.size();
+            }
+            return numInFlight;
+        }
+    }
+
+    /**
+     * Accepts workers until this coordinator is closed. Each worker gets its own thread to read results from.
+     */
+    private void acceptWorkers() {
+        while(!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(socket);
+                Thread reader = new Thread(() -> readResults(connection), "coordinator-" + socket.getPort());
+                reader.setDaemon(true);
+                reader.start();
+            } catch(IOException e) {
+                if(!closed) {
+                    System.err.println("Failed to accept a worker: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates the networks on the connected workers. Blocks until every network has a fitness, waiting for workers
+     * to connect if there are none. Networks that share a topology are sent next to each other, so they end up in the
+     * same batches and workers can feed them forward together.
+     * @param networks The networks to evaluate.
+     * @return The fitness of each network, in the same order as the supplied networks.
+     */
+    @Override
+    public double[] evaluate(List<Network> networks) {
+        int[] order = NetworkBatch.orderByTopology(networks);
+        List<Network> ordered = new ArrayList<>(networks.size());
+        for(int i : order) {
+            ordered.add(networks.get(i));
+        }
+        double[] orderedFitness = new double[networks.size()];
+
+        synchronized(lock) {
+            for(int start = 0; start < ordered.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, ordered.size());
+                byte[] payload = GenomeCodec.encode(ordered.subList(start, end));
+                pending.add(new Batch(nextBatchId++, start, end - start, payload, orderedFitness));
+                remaining++;
+            }
+        }
+
+        try {
+            while(true) {
+                Map<Batch, Connection> toSend = new LinkedHashMap<>();
+                synchronized(lock) {
+                    if(remaining == 0) {
+                        break;
+                    }
+                    dropSilentWorkers();
+                    assignBatches(toSend);
+                    if(toSend.isEmpty()) {
+                        lock.wait(Protocol.HEARTBEAT_MILLIS);
+                    }
+                }
+
+                // Sending happens outside the lock since a worker that is not reading blocks the write.
+                toSend.forEach((batch, connection) -> {
+                    try {
+                        connection.send(batch);
+                    } catch(IOException e) {
+                        fail(connection);
+                    }
+                });
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for workers.", e);
+        }
+
+        double[] fitness = new double[networks.size()];
+        for(int i = 0; i < order.length; i++) {
+            fitness[order[i]] = orderedFitness[i];
+        }
+        return fitness;
+    }
+
+    /**
+     * Hands pending batches to every worker that has room for them. Must hold the lock.
+     * @param toSend Filled with the batches that should be sent and who to send them to.
+     */
+    private void assignBatches(Map<Batch, Connection> toSend) {
+        for(Connection connection : connections) {
+            while(connection.inFlight.size() < maxInFlight && !pending.isEmpty()) {
+                Batch batch = pending.poll();
+                connection.inFlight.put(batch.id, batch);
+                toSend.put(batch, connection);
+            }
+        }
+    }
+
+    /**
+     * Drops every worker that has not been heard from within the timeout. Must hold the lock.
+     */
+    private void dropSilentWorkers() {
+        long now = System.currentTimeMillis();
+        for(Connection connection : connections) {
+            if(now - connection.lastHeard > Protocol.TIMEOUT_MILLIS) {
+                System.err.println("Worker on port " + connection.socket.getPort() + " timed out.");
+                fail(connection);
+            }
+        }
+    }
+
+    /**
+     * Disconnects a worker and puts its unfinished batches back at the front of the queue.
+     * @param connection The worker to disconnect.
+     */
+    private void fail(Connection connection) {
+        synchronized(lock) {
+            if(connections.remove(connection)) {
+                connection.inFlight.values().forEach(pending::addFirst);
+                connection.inFlight.clear();
+                lock.notifyAll();
+            }
+        }
+        connection.close();
+    }
+
+    /**
+     * Reads messages from a single worker until it disconnects or sends something malformed, then fails it.
+     * @param connection The worker to read from.
+     */
+    private void readResults(Connection connection) {
+        try {
+            DataInputStream in = connection.in;
+            if(in.readByte() != Protocol.HELLO || in.readInt() != Protocol.VERSION) {
+                throw new IOException("Worker speaks a different protocol.");
+            }
+
+            synchronized(lock) {
+                connection.lastHeard = System.currentTimeMillis();
+                connections.add(connection);
+                lock.notifyAll();
+            }
+
+            while(!closed) {
+                byte type = in.readByte();
+                connection.lastHeard = System.currentTimeMillis();
+                if(type == Protocol.RESULT) {
+                    int id = in.readInt();
+                    int count = in.readInt();
+                    if(count < 0 || count > batchSize) {
+                        throw new IOException("Batch " + id + " returned " + count + " results.");
+                    }
+                    double[] results = new double[count];
+                    for(int i = 0; i < results.length; i++) {
+                        results[i] = in.readDouble();
+                    }
+                    complete(connection, id, results);
+                } else if(type != Protocol.HEARTBEAT) {
+                    throw new IOException("Unexpected message type " + type + ".");
+                }
+            }
+        } catch(IOException e) {
+            if(!closed) {
+                System.err.println("Lost worker on port " + connection.socket.getPort() + ": " + e.getMessage());
+            }
+        } finally {
+            fail(connection);
+        }
+    }
+
+    /**
+     * Records the results of a batch returned by a worker. A batch with the wrong number of results is put back at the
+     * front of the queue, so it is handed to another worker.
+     * @param connection The worker that evaluated the batch.
+     * @param id The id of the batch.
+     * @param results The fitness of each network in the batch.
+     * @throws IOException If the worker returned the wrong number of results.
+     */
+    private void complete(Connection connection, int id, double[] results) throws IOException {
+        synchronized(lock) {
+            Batch batch = connection.inFlight.get(id);
+            if(batch == null) {
+                return;
+            }
+            if(results.length != batch.count) {
+                connection.inFlight.remove(id);
+                pending.addFirst(batch);
+                lock.notifyAll();
+                throw new IOException("Batch " + id + " returned " + results.length + " results.");
+            }
+            connection.inFlight.remove(id);
+            System.arraycopy(results, 0, batch.fitness, batch.start, batch.count);
+            remaining--;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Tells every worker to shut down and stops accepting new ones.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for(Connection connection : connections) {
+            try {
+                connection.sendShutdown();
+            } catch(IOException ignored) {
+                // The worker is already gone.
+            }
+            connection.close();
+        }
+        connections.clear();
+
+        try {
+            server.close();
+        } catch(IOException ignored) {
+            // Nothing left to clean up.
+        }
+    }
+
+    /**
+     * A range of networks from a single evaluation, encoded once so it can be resent cheaply.
+     */
+    private static class Batch {
+        private final int id;
+        private final int start;
+        private final int count;
+        private final byte[] payload;
+        private final double[] fitness;
+
+        private Batch(int id, int start, int count, byte[] payload, double[] fitness) {
+            this.id      = id;
+            this.start   = start;
+            this.count   = count;
+            this.payload = payload;
+            this.fitness = fitness;
+        }
+    }
+
+    /**
+     * A connected worker and the batches it currently holds.
+     */
+    private static class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final Map<Integer, Batch> inFlight;
+        private volatile long lastHeard;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            in          = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out         = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            inFlight    = new HashMap<>();
+            lastHeard   = System.currentTimeMillis();
+        }
+
+        private void send(Batch batch) throws IOException {
+            synchronized(out) {
+                out.writeByte(Protocol.BATCH);
+                out.writeInt(batch.id);
+                out.writeInt(batch.payload.length);
+                out.write(batch.payload);
+                out.flush();
+            }
+        }
+
+        private void sendShutdown() throws IOException {
+            synchronized(out) {
+                out.writeByte(Protocol.SHUTDOWN);
+                out.flush();
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch(IOException ignored) {
+                // Nothing left to clean up.
+            }
+        }
+    }
+}
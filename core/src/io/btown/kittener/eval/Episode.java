@@ -0,0 +1,140 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.game.AgentController;
+import io.btown.kittener.game.Sensor;
+import io.btown.kittener.game.Simulation;
+import io.btown.kittener.game.WorldState;
+import io.btown.kittener.neat.Network;
+import io.btown.kittener.neat.NetworkBatch;
+
+import java.util.List;
+
+/**
+ * Runs headless games of Kittener. Every episode is stepped with a fixed time step, so the same network always earns
+ * the same fitness, which is not the case when the GameScreen steps by the time between rendered frames.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public final class Episode {
+    /** The time (seconds) covered by each step of an episode. */
+    public static final float TIME_STEP = 1 / 60f;
+
+    /** The maximum number of steps an episode may last. Agents can otherwise keep scoring forever by looping. */
+    public static final int MAX_STEPS = 60 * 60;
+
+    private Episode() {
+    }
+
+    /**
+     * Returns the number of inputs networks need to play a headless episode with the default sensors.
+     * @return The number of inputs networks need to play a headless episode.
+     */
+    public static int getNumInputs() {
+        return getNumInputs(Simulation.defaultSensors());
+    }
+
+    /**
+     * Returns the number of inputs networks need to play a headless episode with the supplied sensors.
+     * @param sensors What agents sense.
+     * @return The number of inputs networks need to play a headless episode.
+     */
+    public static int getNumInputs(Sensor[] sensors) {
+        Simulation simulation = new Simulation(Simulation.DEFAULT_WIDTH, Simulation.DEFAULT_HEIGHT);
+        simulation.setSensors(sensors);
+        return simulation.getVisionSize();
+    }
+
+    /**
+     * Returns the number of outputs networks need to play a headless episode.
+     * @return The number of outputs networks need to play a headless episode.
+     */
+    public static int getNumOutputs() {
+        return Simulation.NUM_DIRECTIONS;
+    }
+
+    /**
+     * Plays a single episode in which every supplied network controls its own agent. Agents can not interact with
+     * each other, so each network earns the same fitness it would earn playing alone.
+     * @param networks The networks to evaluate.
+     * @return The score each network's agent reached, in the same order as the supplied networks.
+     */
+    public static double[] evaluate(List<Network> networks) {
+        return evaluate(networks, Simulation.DEFAULT_DECISION_INTERVAL);
+    }
+
+    /**
+     * Plays a single episode in which every supplied network controls its own agent, deciding which direction to move
+     * in every so many steps rather than every step. Every agent decides on the same steps, so the networks can still
+     * be fed forward together.
+     * @param networks The networks to evaluate.
+     * @param decisionInterval The number of steps between an agent's decisions.
+     * @return The score each network's agent reached, in the same order as the supplied networks.
+     */
+    public static double[] evaluate(List<Network> networks, int decisionInterval) {
+        return evaluate(networks, decisionInterval, Simulation.defaultSensors());
+    }
+
+    /**
+     * Plays a single episode in which every supplied network controls its own agent, sensing what the supplied
+     * sensors sense and deciding which direction to move in every so many steps.
+     * @param networks The networks to evaluate. Must have as many inputs as getNumInputs(sensors).
+     * @param decisionInterval The number of steps between an agent's decisions.
+     * @param sensors What agents sense.
+     * @return The score each network's agent reached, in the same order as the supplied networks.
+     */
+    public static double[] evaluate(List<Network> networks, int decisionInterval, Sensor[] sensors) {
+        return evaluate(new NetworkBatch(networks), decisionInterval, sensors);
+    }
+
+    /**
+     * Plays a single episode in which every network of the supplied batch controls its own agent. Every step, the
+     * networks of all the agents still alive are fed forward together, so networks that share a topology are
+     * evaluated as one batch.
+     * @param batch The networks to evaluate, none of which may have been fed forward or retired yet.
+     * @param decisionInterval The number of steps between an agent's decisions.
+     * @param sensors What agents sense.
+     * @return The score each network's agent reached, in the same order as the batch's networks.
+     */
+    public static double[] evaluate(NetworkBatch batch, int decisionInterval, Sensor[] sensors) {
+        Simulation simulation = new Simulation(Simulation.DEFAULT_WIDTH, Simulation.DEFAULT_HEIGHT);
+        simulation.setDecisionInterval(decisionInterval, false);
+        simulation.setSensors(sensors);
+        for(int i = 0; i < batch.size(); i++) {
+            simulation.spawnAgent(null);
+        }
+
+        float[][] visions = new float[batch.size()][];
+        double[][] outputs = new double[batch.size()][getNumOutputs()];
+        AgentController controller = new AgentController() {
+            @Override
+            public void prepareStep(WorldState world) {
+                boolean deciding = false;
+                for(int i = 0; i < world.getNumAgents(); i++) {
+                    if(world.isAgentDead(i)) {
+                        batch.retire(i);
+                    } else if(simulation.isDeciding(i)) {
+                        visions[i] = simulation.getVision(i);
+                        deciding = true;
+                    }
+                }
+                if(deciding) {
+                    batch.feedForward(visions, outputs);
+                }
+            }
+
+            @Override
+            public int chooseDirection(int index, float[] vision) {
+                return Simulation.directionOf(outputs[index]);
+            }
+        };
+        for(int step = 0; step < MAX_STEPS && !simulation.areAllAgentsDead(); step++) {
+            simulation.update(TIME_STEP, controller);
+        }
+
+        double[] fitness = new double[batch.size()];
+        for(int i = 0; i < fitness.length; i++) {
+            fitness[i] = simulation.getWorld().getAgentScore(i);
+        }
+        return fitness;
+    }
+}
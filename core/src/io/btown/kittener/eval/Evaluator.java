@@ -0,0 +1,19 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.neat.Network;
+
+import java.util.List;
+
+/**
+ * Measures the fitness of a whole generation of networks.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public interface Evaluator {
+    /**
+     * Evaluates every supplied network.
+     * @param networks The networks to evaluate.
+     * @return The fitness of each network, in the same order as the supplied networks.
+     */
+    double[] evaluate(List<Network> networks);
+}
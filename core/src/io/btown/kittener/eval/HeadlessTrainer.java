@@ -0,0 +1,88 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.game.Simulation;
+import io.btown.kittener.neat.EvolutionContext;
+import io.btown.kittener.neat.Population;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Trains a population on headless episodes of Kittener without opening a window. Networks are evaluated by worker
+ * processes started on this machine, or on a work-stealing pool in this process if no workers are requested.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class HeadlessTrainer {
+    /**
+     * The number of networks sent to a worker in a single batch, which plays them in a single episode. As many as a
+     * task in this process, so networks that share a topology are fed forward together on workers too.
+     */
+    private static final int BATCH_SIZE = ParallelEvaluator.DEFAULT_EPISODES_PER_TASK;
+
+    /** The number of batches a worker may hold at once. */
+    private static final int MAX_IN_FLIGHT = 2;
+
+    /** The number of genomes whose fitness is remembered between generations. */
+    private static final int CACHE_CAPACITY = 10000;
+
+    /**
+     * Driver for headless training.
+     * @param args The number of agents, generations, worker processes (if any) and, when evaluating in this process,
+     *             episodes played per task and steps between each agent's decisions.
+     * @throws IOException If the coordinator or its workers could not be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int numAgents = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int numGenerations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int numWorkers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int episodesPerTask = args.length > 3 ? Integer.parseInt(args[3]) : ParallelEvaluator.DEFAULT_EPISODES_PER_TASK;
+        int decisionInterval = args.length > 4 ? Integer.parseInt(args[4]) : Simulation.DEFAULT_DECISION_INTERVAL;
+
+        Population population = new Population(new EvolutionContext(), numAgents, Episode.getNumInputs(),
+                Episode.getNumOutputs(), true);
+        population.setLog(System.out::print);
+
+        if(numWorkers > 0) {
+            try(Coordinator coordinator = new Coordinator(0, BATCH_SIZE, MAX_IN_FLIGHT);
+                LocalWorkers ignored = new LocalWorkers(numWorkers, coordinator.getPort())) {
+                train(population, coordinator, numGenerations);
+            }
+        } else {
+            ParallelEvaluator evaluator = new ParallelEvaluator(new ForkJoinPool(), episodesPerTask,
+                    decisionInterval);
+            train(population, networks -> {
+                double[] fitness = evaluator.evaluate(networks);
+                System.out.printf("Evaluated in %.1f ms at %.0f%% utilization, %.0f%% batched\n",
+                        evaluator.getLastEvaluationMillis(), evaluator.getUtilization() * 100,
+                        evaluator.getBatchedFraction() * 100);
+                return fitness;
+            }, numGenerations);
+        }
+    }
+
+    /**
+     * Evaluates and evolves the population for the supplied number of generations. Headless episodes are
+     * deterministic, so genomes that were already played are not played again.
+     * @param population The population to train.
+     * @param evaluator Measures the fitness of each generation.
+     * @param numGenerations The number of generations to train for.
+     */
+    private static void train(Population population, Evaluator evaluator, int numGenerations) {
+        CachingEvaluator cachingEvaluator = new CachingEvaluator(evaluator, CACHE_CAPACITY);
+        for(int i = 0; i < numGenerations; i++) {
+            double[] fitness = cachingEvaluator.evaluate(population.getNetworks());
+
+            double best = 0;
+            for(int index = 0; index < fitness.length; index++) {
+                population.assignFitness(index, fitness[index]);
+                best = Math.max(best, fitness[index]);
+            }
+            System.out.printf("Generation %d best score: %.0f (%d cached)\n", population.getGeneration(), best,
+                    cachingEvaluator.getLastHits());
+
+            population.naturalSelection();
+            population.incrementGeneration();
+        }
+    }
+}
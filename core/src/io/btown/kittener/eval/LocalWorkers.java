@@ -0,0 +1,65 @@
+package io.btown.kittener.eval;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts workers as child processes of this JVM, using the same Java installation and class path.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class LocalWorkers implements Closeable {
+    /** Every worker process that was started. */
+    private final List<Process> processes;
+
+    /**
+     * Starts the supplied number of workers and points them at a coordinator on this machine.
+     * @param numWorkers The number of workers to start.
+     * @param port The port the coordinator is listening on.
+     * @throws IOException If a worker process could not be started.
+     */
+    public LocalWorkers(int numWorkers, int port) throws IOException {
+        processes = new ArrayList<>(numWorkers);
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                Worker.class.getName(), "localhost", String.valueOf(port));
+        builder.inheritIO();
+
+        try {
+            for(int i = 0; i < numWorkers; i++) {
+                processes.add(builder.start());
+            }
+        } catch(IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of worker processes that are still running.
+     * @return The number of worker processes that are still running.
+     */
+    public int getNumAlive() {
+        return (int) processes.stream().filter(Process::isAlive).count();
+    }
+
+    /**
+     * Kills a single worker process without letting it shut down, as if it had crashed.
+     * @param index The index of the worker, in the order they were started.
+     */
+    void kill(int index) {
+        processes.get(index).destroyForcibly();
+    }
+
+    /**
+     * Kills every worker process that is still running.
+     */
+    @Override
+    public void close() {
+        processes.forEach(Process::destroy);
+    }
+}
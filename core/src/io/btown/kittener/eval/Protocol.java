@@ -0,0 +1,33 @@
+package io.btown.kittener.eval;
+
+/**
+ * Constants shared by the coordinator and its workers. Every message starts with one of the message type bytes below.
+ * <ul>
+ *     <li>HELLO (worker to coordinator): int protocol version.</li>
+ *     <li>BATCH (coordinator to worker): int batch id, int length, then the networks encoded by the GenomeCodec.</li>
+ *     <li>RESULT (worker to coordinator): int batch id, int count, then a double fitness for each network.</li>
+ *     <li>HEARTBEAT (worker to coordinator): nothing else.</li>
+ *     <li>SHUTDOWN (coordinator to worker): nothing else.</li>
+ * </ul>
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+final class Protocol {
+    /** Bumped whenever the messages below or the GenomeCodec format change. */
+    static final int VERSION = 1;
+
+    static final byte HELLO = 1;
+    static final byte BATCH = 2;
+    static final byte RESULT = 3;
+    static final byte HEARTBEAT = 4;
+    static final byte SHUTDOWN = 5;
+
+    /** How often (milliseconds) workers send a heartbeat, even while they are busy evaluating. */
+    static final long HEARTBEAT_MILLIS = 1000;
+
+    /** How long (milliseconds) a worker may stay silent before its batches are handed to other workers. */
+    static final long TIMEOUT_MILLIS = 10 * HEARTBEAT_MILLIS;
+
+    private Protocol() {
+    }
+}
@@ -0,0 +1,122 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.neat.EvolutionContext;
+import io.btown.kittener.neat.GenomeCodec;
+import io.btown.kittener.neat.Network;
+
+import java.io.*;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless process that connects to a {@link Coordinator}, plays every batch of networks it is sent and streams
+ * back their fitness. A heartbeat is sent on a separate thread so the coordinator knows the worker is alive while it
+ * is busy evaluating.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class Worker {
+    /** The host the coordinator is running on. */
+    private final String host;
+
+    /** The port the coordinator is listening on. */
+    private final int port;
+
+    /** The context decoded networks belong to. They are only evaluated here, never evolved. */
+    private final EvolutionContext context;
+
+    /**
+     * Constructor for a worker.
+     * @param host The host the coordinator is running on.
+     * @param port The port the coordinator is listening on.
+     */
+    public Worker(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.context = new EvolutionContext();
+    }
+
+    /**
+     * Connects to the coordinator and evaluates batches until it is told to shut down or the connection is lost.
+     * @throws IOException If the connection is lost or a batch is malformed.
+     */
+    public void run() throws IOException {
+        ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try(Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            synchronized(out) {
+                out.writeByte(Protocol.HELLO);
+                out.writeInt(Protocol.VERSION);
+                out.flush();
+            }
+
+            heartbeat.scheduleAtFixedRate(() -> {
+                try {
+                    synchronized(out) {
+                        out.writeByte(Protocol.HEARTBEAT);
+                        out.flush();
+                    }
+                } catch(IOException ignored) {
+                    // The main loop notices the lost connection on its next read.
+                }
+            }, Protocol.HEARTBEAT_MILLIS, Protocol.HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+
+            while(true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch(EOFException e) {
+                    return;
+                }
+
+                if(type == Protocol.SHUTDOWN) {
+                    return;
+                } else if(type != Protocol.BATCH) {
+                    throw new IOException("Unexpected message type " + type + ".");
+                }
+
+                int id = in.readInt();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                List<Network> networks = GenomeCodec.decode(payload, context);
+                double[] fitness = Episode.evaluate(networks);
+
+                synchronized(out) {
+                    out.writeByte(Protocol.RESULT);
+                    out.writeInt(id);
+                    out.writeInt(fitness.length);
+                    for(double value : fitness) {
+                        out.writeDouble(value);
+                    }
+                    out.flush();
+                }
+            }
+        } finally {
+            heartbeat.shutdownNow();
+        }
+    }
+
+    /**
+     * Driver for a worker process.
+     * @param args The host and port of the coordinator.
+     * @throws IOException If the connection is lost or a batch is malformed.
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 2) {
+            System.err.println("Usage: Worker <host> <port>");
+            System.exit(1);
+        }
+        new Worker(args[0], Integer.parseInt(args[1])).run();
+    }
+}
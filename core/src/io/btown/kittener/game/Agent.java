@@ -4,16 +4,22 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Rectangle;
 
-import java.util.Arrays;
-
 /**
  * Class which represents an agent (in the case of "Kittener", a cat) and all information that
- * agent needs.
+ * agent needs. A simulation keeps the position, score and life of its agents in its WorldState and only copies them
+ * into its agents when asked to update its views, so they are views for rendering and reporting.
  * @author Brandon Townsend
- * @version 21 January 2020
+ * @version 19 October 2026
  */
 public class Agent extends Rectangle {
-    private static int idCounter = 0;
+    /** The width (pixels) of every agent. */
+    public static final float WIDTH = 32;
+
+    /** The height (pixels) of every agent. */
+    public static final float HEIGHT = 16;
+
+    /** The direction of an agent that has not chosen one yet, which stands still. */
+    public static final int UNDECIDED = -1;
 
     /** The identification number of this agent. */
     private final int ID;
@@ -24,40 +30,29 @@ public class Agent extends Rectangle {
     /** The score of this agent. */
     private int     score;
 
-    /** The last y-coordinate the agent was located at. */
-    private float   lastY;
-
     /** Boolean to determine whether or not this agent is dead. */
     private boolean isDead;
 
-    /** Timer to keep track of how long the agent has "stood still". */
-    private float   stillTimer;
+    /** The last direction this agent moved in. Zero (up) until it moves elsewhere. */
+    private int     facing;
 
     /** What color this agent should be displayed as. */
     private Color color;
 
-    /**
-     * An array of the agents vision. Currently holds distances between the agent and game
-     * objects.
-     */
-    private float[] vision;
-
     /**
      * Constructor for an agent.
+     * @param id The identification number of the agent, unique within its simulation.
      * @param texture The starting texture it should be displayed as.
-     * @param arraySize The size of the agents vision array.
      * @param xLocation The starting x-coordinate to spawn the agent at.
      */
-    public Agent(Texture texture, int arraySize, float xLocation) {
+    public Agent(int id, Texture texture, float xLocation) {
         // X and Y are bottom left corner.
-        super(xLocation, 0, 32, 16);
-        ID = idCounter++;
+        super(xLocation, 0, WIDTH, HEIGHT);
+        ID = id;
         this.texture    = texture;
         this.score      = 0;
-        this.lastY      = 0f;
         this.isDead     = false;
-        this.stillTimer = 0f;
-        this.vision     = new float[arraySize];
+        this.facing     = 0;
         this.color      = new Color(1, 1, 1, 1);
     }
 
@@ -93,30 +88,6 @@ public class Agent extends Rectangle {
         return score;
     }
 
-    /**
-     * Sets this agents score to the supplied one.
-     * @param score The new score of this agent.
-     */
-    public void setScore(int score) {
-        this.score = score;
-    }
-
-    /**
-     * Returns the last y-coordinate this agent was located at.
-     * @return The last y-coordinate this agent was located at.
-     */
-    public float getLastY() {
-        return lastY;
-    }
-
-    /**
-     * Sets this agents last y-coordinate to the supplied one.
-     * @param lastY The new y-coordinate for this agent.
-     */
-    public void setLastY(float lastY) {
-        this.lastY = lastY;
-    }
-
     /**
      * Returns whether or not this agent is dead.
      * @return True if dead, false otherwise.
@@ -126,44 +97,11 @@ public class Agent extends Rectangle {
     }
 
     /**
-     * Tells this agent whether or not it is dead.
-     * @param dead The new boolean value to determine death.
-     */
-    public void setDead(boolean dead) {
-        isDead = dead;
-    }
-
-    /**
-     * Returns how long the agent has been standing still.
-     * @return How long the agent has been standing still.
-     */
-    public float getStillTimer() {
-        return stillTimer;
-    }
-
-    /**
-     * Sets the standing still timer to the supplied time.
-     * @param stillTimer The new time the timer should hold.
-     */
-    public void setStillTimer(float stillTimer) {
-        this.stillTimer = stillTimer;
-    }
-
-    /**
-     * Returns the vision array of this agent.
-     * @return The vision array of this agent.
-     */
-    public float[] getVision() {
-        return vision;
-    }
-
-    /**
-     * Sets this agents vision array to the new values passed in by the supplied array. Divides
-     * them by 32, as that is the length of a side of a tile.
-     * @param vision The new vision array.
+     * Returns the last direction this agent moved in.
+     * @return The last direction this agent moved in.
      */
-    public void setVision(float[] vision) {
-        this.vision = vision;
+    public int getFacing() {
+        return facing;
     }
 
     /**
@@ -183,17 +121,18 @@ public class Agent extends Rectangle {
     }
 
     /**
-     * Resets this agent back to its starting values.
-     * @param xPos The x-coordinate position to reset this agent to.
+     * Copies the state of this agent in the world state of its simulation into this view.
+     * @param x The x-coordinate (pixels) of the bottom left corner of this agent.
+     * @param y The y-coordinate (pixels) of the bottom left corner of this agent.
+     * @param score The score of this agent.
+     * @param facing The last direction this agent moved in.
+     * @param dead Whether this agent is dead.
      */
-    public void reset(float xPos) {
-        setX(xPos);
-        setY(0);
-        score       = 0;
-        lastY       = 0f;
-        isDead      = false;
-        stillTimer  = 0f;
-        Arrays.fill(vision, 0f);
+    void update(float x, float y, int score, int facing, boolean dead) {
+        setPosition(x, y);
+        this.score  = score;
+        this.facing = facing;
+        this.isDead = dead;
     }
 
     /**
@@ -0,0 +1,25 @@
+package io.btown.kittener.game;
+
+/**
+ * Decides which direction an agent should move in during a step of the simulation.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public interface AgentController {
+    /**
+     * Called once a step, after the vision of every living agent that decides on this step has been updated and
+     * before any of them is asked for a direction, so a controller can decide for every agent at once. Does nothing by
+     * default.
+     * @param world The state of every agent of the simulation, including the dead ones, by index.
+     */
+    default void prepareStep(WorldState world) {
+    }
+
+    /**
+     * Chooses the direction the agent at the supplied index should move in until it decides again.
+     * @param index The index of the agent within the simulation.
+     * @param vision What the agent senses this step.
+     * @return 0 for up, 1 for down, 2 for left, 3 for right and anything else to stand still.
+     */
+    int chooseDirection(int index, float[] vision);
+}
@@ -10,14 +10,15 @@ import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
-import com.badlogic.gdx.math.Vector2;
+import io.btown.kittener.neat.NetworkBatch;
 import io.btown.kittener.neat.Population;
 
-import java.util.*;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
- * The GameScreen class contains all game logic and is what controls the simulation and passes
- * game information to the NEAT part of the application.
+ * The GameScreen class draws the simulation every frame, steps it forward and passes game
+ * information to the NEAT part of the application.
  * @author Brandon Townsend
  * @version 21 January 2020
  */
@@ -45,27 +46,35 @@ public class GameScreen extends ScreenAdapter {
     /** Variable to keep track of the highest overall score we have seen. */
     private int highestOverallScore = 0;
 
-    /** Left-side bound of the map for spawning hazards/platforms. */
-    private final int leftBounds;
-
-    /** Right-side bound of the map for spawning hazards/platforms. */
-    private final int rightBounds;
-
     /** The camera attached to this screen. */
     private final OrthographicCamera camera;
 
     /** Map renderer. */
     private final TiledMapRenderer renderer;
 
-    /** List of all hazards in the game. */
-    private final ArrayList<Hazard> hazards;
-
-    /** List of all agents in the game. */
-    private final ArrayList<Agent> agents;
+    /** The game logic for all hazards and agents in the game. */
+    private final Simulation simulation;
 
     /** Population of all organisms in the game. */
     private final Population population;
 
+    /** The color each species' agents are drawn in. */
+    private final SpeciesColors speciesColors;
+
+    /**
+     * Feeds the networks of every living agent forward together each step, so networks that share a topology are
+     * evaluated as one batch like they are in headless episodes. Keeps what each network remembers, and is rebuilt
+     * for every generation.
+     */
+    private NetworkBatch networkBatch;
+
+    /** What each agent sensed and the outputs of its network on the last step it decided. */
+    private final float[][] visions;
+    private final double[][] outputs;
+
+    /** Chooses each agent's direction using the network assigned to it. */
+    private final AgentController controller;
+
     private boolean gameReset = false;
 
     /**
@@ -76,24 +85,49 @@ public class GameScreen extends ScreenAdapter {
     public GameScreen(final MainGame game) {
         GAME = game;
 
-        // Setting up some needed game variables.
-        leftBounds = (-32 * 5);
-        rightBounds = this.GAME.getWidth() + (32 * 5);
-
         // Setting up this screens camera.
         camera = new OrthographicCamera();
         camera.setToOrtho(false, GAME.getWidth(), GAME.getHeight());
 
         // Creating the map objects.
-        hazards = new ArrayList<>(NUM_AGENTS);
-        spawnMapObjects();
+        simulation = new Simulation(GAME.getWidth(), GAME.getHeight());
+        // Every living agent's network is fed forward whenever one of them decides, so agents decide together.
+        simulation.setDecisionInterval(GAME.getDecisionInterval(), false);
+        simulation.setSensors(GAME.getSensors());
+        simulation.getHazards().forEach(hazard -> hazard.setTexture(getTexture(hazard.getVehicle())));
 
         // Creating the game agents.
-        agents = new ArrayList<>(NUM_AGENTS);
         spawnAgents();
 
         // Assigning our constructed agents to our population.
-        population = new Population(NUM_AGENTS, hazards.size(), 5);
+        population = new Population(NUM_AGENTS, simulation.getVisionSize(), Simulation.NUM_DIRECTIONS);
+        population.setLog(System.out::print);
+        speciesColors = new SpeciesColors();
+        networkBatch = new NetworkBatch(population.getNetworks());
+        visions = new float[NUM_AGENTS][];
+        outputs = new double[NUM_AGENTS][Simulation.NUM_DIRECTIONS];
+        controller = new AgentController() {
+            @Override
+            public void prepareStep(WorldState world) {
+                boolean deciding = false;
+                for(int i = 0; i < world.getNumAgents(); i++) {
+                    if(world.isAgentDead(i)) {
+                        networkBatch.retire(i);
+                    } else if(simulation.isDeciding(i)) {
+                        visions[i] = simulation.getVision(i);
+                        deciding = true;
+                    }
+                }
+                if(deciding) {
+                    networkBatch.feedForward(visions, outputs);
+                }
+            }
+
+            @Override
+            public int chooseDirection(int index, float[] vision) {
+                return Simulation.directionOf(outputs[index]);
+            }
+        };
 
         // Creating the tiled map background.
         TiledMap map = new TmxMapLoader().load("core/assets/maps/map_no_water.tmx");
@@ -105,64 +139,50 @@ public class GameScreen extends ScreenAdapter {
      */
     private void spawnAgents() {
         for(int i = 0; i < NUM_AGENTS; i++) {
-            Agent agent = new Agent(catBack, hazards.size(), GAME.getWidth() / 2f);
-            agents.add(agent);
+            simulation.spawnAgent(catBack);
         }
     }
 
     /**
-     * Helper method used to spawn various map objects. Hazards take the form of:
-     *      width, height, column (pixels), row (pixels), texture, and speed.
-     * You can uncomment or add any extra that you would like. If they do not appear, the hazards beginning x location is
-     * most likely over the left or right bounds.
+     * Returns the texture a supplied kind of vehicle should be displayed as.
+     * @param vehicle The kind of vehicle.
+     * @return The texture the vehicle should be displayed as.
      */
-    private void spawnMapObjects() {
-        // Hazards on the first row from the bottom.
-        hazards.add(new Hazard(32, 32, -20, 32, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-//        hazards.add(new Hazard(32, 32, -84, 32, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-//        hazards.add(new Hazard(32, 32, leftBounds+16, 32, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-
-        // Hazards on the second row from the bottom.
-        hazards.add(new Hazard(64, 32, GAME.getWidth() + 32, 32*2, bus,
-                Speeds.LEFT_SLOW.objectSpeed));
-//        hazards.add(new Hazard(64, 32, rightBounds, 32*2, bus, Speeds.LEFT_SLOW.objectSpeed));
-
-        // Hazards on the third row from the bottom.
-//        hazards.add(new Hazard(32, 32, rightBounds, 32*3, raceCar, Speeds.LEFT_FAST.objectSpeed));
-
-        // Hazards on the fourth row from the bottom.
-//        hazards.add(new Hazard(64, 32, GAME.getWidth()+32, 32*4, bus, Speeds.LEFT_SLOW.objectSpeed));
-//        hazards.add(new Hazard(64, 32, rightBounds-32, 32*4, bus, Speeds.LEFT_SLOW.objectSpeed));
-
-        // Hazards on the fourth row from the bottom.
-        hazards.add(new Hazard(32, 32, -40, 32*4, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-        hazards.add(new Hazard(32, 32, -104, 32*4, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-//        hazards.add(new Hazard(32, 32, leftBounds, 32*4, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-
-        // Hazards on the seventh row from the bottom.
-        hazards.add(new Hazard(32, 32, -16, 32*6, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-        hazards.add(new Hazard(32, 32, -80, 32*6, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-        hazards.add(new Hazard(32, 32, leftBounds+16, 32*6, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-
-        // Hazards on the eighth row from the bottom.
-        hazards.add(new Hazard(64, 32, GAME.getWidth(), 32*7, bus, Speeds.LEFT_SLOW.objectSpeed));
-        hazards.add(new Hazard(64, 32, rightBounds, 32*7, bus, Speeds.LEFT_SLOW.objectSpeed));
-
-        // Hazards on the ninth row from the bottom.
-        hazards.add(new Hazard(32, 32, rightBounds, 32*8, raceCar, Speeds.LEFT_FAST.objectSpeed));
-
-        // Hazards on the tenth row from the bottom.
-        hazards.add(new Hazard(64, 32, GAME.getWidth()+32, 32*9, bus, Speeds.LEFT_SLOW.objectSpeed));
-        hazards.add(new Hazard(64, 32, rightBounds-32, 32*9, bus, Speeds.LEFT_SLOW.objectSpeed));
-
-        // Hazards on the eleventh row from the bottom.
-        hazards.add(new Hazard(32, 32, -32, 32*10, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-        hazards.add(new Hazard(32, 32, -96, 32*10, yellowCar, Speeds.RIGHT_MED.objectSpeed));
-        hazards.add(new Hazard(32, 32, leftBounds, 32*10, yellowCar, Speeds.RIGHT_MED.objectSpeed));
+    private Texture getTexture(Vehicles vehicle) {
+        switch(vehicle) {
+            case BUS:
+                return bus;
+            case RACE_CAR:
+                return raceCar;
+            default:
+                return yellowCar;
+        }
+    }
+
+    /**
+     * Returns the texture a supplied agent should be displayed as based on which way it last moved.
+     * @param agent The agent to find the texture for.
+     * @return The texture the agent should be displayed as.
+     */
+    private Texture getTexture(Agent agent) {
+        if(agent.isDead()) {
+            return death;
+        }
+
+        switch(agent.getFacing()) {
+            case 1:
+                return catFront;
+            case 2:
+                return catLeft;
+            case 3:
+                return catRight;
+            default:
+                return catBack;
+        }
     }
 
     /**
-     * Renders this screen every frame. Contains all game logic.
+     * Renders this screen every frame and advances the simulation.
      * @param delta The time between two frames.
      */
     @Override
@@ -185,9 +205,9 @@ public class GameScreen extends ScreenAdapter {
         GAME.batch.begin();
 
         // Draws all the hazards.
-        hazards.forEach(hazard -> GAME.batch.draw(hazard.getTexture(), hazard.x, hazard.y));
+        simulation.getHazards().forEach(hazard -> GAME.batch.draw(hazard.getTexture(), hazard.x, hazard.y));
 
-        agents.forEach(agent -> {
+        simulation.getAgents().forEach(agent -> {
             GAME.batch.setColor(agent.getColor());
             GAME.batch.draw(agent.getTexture(), agent.x, agent.y);
             GAME.batch.setColor(Color.WHITE);
@@ -209,29 +229,30 @@ public class GameScreen extends ScreenAdapter {
         if(gameReset) {
             gameReset = false;
         } else {
-            // Each hazard moving.
-            updateHazards(delta);
-
-            // Each agent moving.
-            updateAgents(delta);
-
-            // Check collision.
-            checkCollisions();
+            simulation.update(delta, controller);
+            simulation.updateViews();
+            simulation.getAgents().forEach(agent -> agent.setTexture(getTexture(agent)));
         }
 
         // Apply opacity to the agent's color if they are dead.
-        agents.parallelStream().filter(Agent::isDead).forEach(agent -> {
+        simulation.getAgents().parallelStream().filter(Agent::isDead).forEach(agent -> {
             Color color = agent.getColor();
             float alpha = color.a > 0.1f ? color.a * 0.99f : 0.1f;
             agent.setColor(new Color(color.r, color.g, color.b, alpha));
         });
 
         // If all agents are dead, set the final fitness values for this generation and reset.
-        if(areAllAgentsDead()) {
+        if(simulation.areAllAgentsDead()) {
             performNaturalSelection();
 
-            for (Agent agent : agents) {
-                agent.setColor(population.getColor(agent.getID()));
+            // Species that died out this generation no longer need a color.
+            Set<Integer> speciesIds = new HashSet<>();
+            for (Agent agent : simulation.getAgents()) {
+                speciesIds.add(population.getSpeciesId(agent.getID()));
+            }
+            speciesColors.retain(speciesIds);
+            for (Agent agent : simulation.getAgents()) {
+                agent.setColor(speciesColors.get(population.getSpeciesId(agent.getID())));
             }
             population.incrementGeneration();
             resetGame();
@@ -240,184 +261,18 @@ public class GameScreen extends ScreenAdapter {
     }
 
     private void performNaturalSelection() {
-        for (Agent agent : agents) {
+        for (Agent agent : simulation.getAgents()) {
             population.assignFitness(agent.getID(), agent.getScore());
         }
         population.naturalSelection();
     }
 
-    /**
-     * Checks to see whether agents have collided with any map objects.
-     */
-    private void checkCollisions() {
-        for(Agent agent : agents) {
-
-            if(!agent.isDead()) {
-                for(Hazard hazard : hazards) {
-
-                    if(hazard.overlaps(agent)) {
-                        agent.setTexture(death);
-                        agent.setDead(true);
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Helper method to control the hazards' movements.
-     * @param delta The time between two frames.
-     */
-    private void updateHazards(float delta) {
-        for(Hazard hazard : hazards) {
-            hazard.setX(hazard.getX() + (hazard.getSpeed() * delta));
-
-            // Wrapping the hazards around the screen. Simulates "respawning".
-            if(hazard.getX() > rightBounds) {
-                hazard.setX(leftBounds);
-            } else if(hazard.getX() < leftBounds) {
-                hazard.setX(rightBounds);
-            }
-        }
-    }
-
-    /**
-     * Helper method that controls each agents' movements.
-     * @param delta The time between two frames.
-     */
-    private void updateAgents(float delta) {
-        for(Agent agent : agents) {
-
-            // Perform the following if the agent is not dead.
-            if(!agent.isDead()) {
-                updateAgentVision(agent);
-
-                double[] output = population.getOutput(agent.getID(), agent.getVision());
-
-                int dir = 0;
-                for(int i = 0; i < output.length; i++) {
-                    if(output[i] > output[dir]) {
-                        dir = i;
-                    }
-                }
-
-                moveAgent(agent, dir, delta);
-
-                int prevScore = agent.getScore();
-                int newScore = calculateAgentScore(agent);
-
-                // If the agent has not increased in score, add to the stillness timer.
-                if(prevScore >= newScore) {
-                    agent.setStillTimer(agent.getStillTimer() + delta);
-
-                    // If an agent is still for longer than 8 seconds, we kill it off.
-                    if(agent.getStillTimer() > 8f) {
-                        agent.setTexture(death);
-                        agent.setDead(true);
-                    }
-                } else {
-                    agent.setStillTimer(0);
-                }
-            }
-        }
-    }
-
-    /**
-     * Updates the agent's vision array based on the distance between the agent and the hazards
-     * of the game.
-     * @param agent The agent whose vision array should be updated.
-     */
-    private void updateAgentVision(Agent agent) {
-        float[] vision = new float[hazards.size()];
-
-        // Grab the position of the agent's center.
-        Vector2 agentCenter = new Vector2();
-        agentCenter = agent.getCenter(agentCenter);
-        Vector2 hazardCenter = new Vector2();
-
-        for(int i = 0; i < hazards.size(); i++) {
-            Hazard hazard = hazards.get(i);
-            hazardCenter = hazard.getCenter(hazardCenter);
-
-            // Comparing the distances between our agent and all the hazards on the game board.
-            vision[i] = hazardCenter.dst(agentCenter);
-        }
-        agent.setVision(vision);
-    }
-
-    /**
-     * Moves a specified agent in a supplied direction and makes sure the agent does not escape
-     * the game bounds.
-     * @param agent The agent to move.
-     * @param direction The direction in which the agent should move.
-     * @param delta The time between frames.
-     */
-    private void moveAgent(Agent agent, int direction, float delta) {
-        switch(direction) {
-            case 0: // Moving up.
-                agent.setY(agent.getY() + Speeds.RIGHT_MED.move(delta));
-                agent.setTexture(catBack);
-                break;
-            case 1: // Moving down.
-                agent.setY(agent.getY() + Speeds.LEFT_MED.move(delta));
-                agent.setTexture(catFront);
-                break;
-            case 2: // Moving left.
-                agent.setX(agent.getX() + Speeds.LEFT_MED.move(delta));
-                agent.setTexture(catLeft);
-                break;
-            case 3: // Moving right.
-                agent.setX(agent.getX() + Speeds.RIGHT_MED.move(delta));
-                agent.setTexture(catRight);
-                break;
-            default: // Choosing not to move.
-                break;
-        }
-
-        // Make sure the agents do not escape the game bounds.
-        if(agent.getX() < 0) {
-            agent.setX(0);
-        } else if(agent.getX() + agent.getWidth() > GAME.getWidth()) {
-            agent.setX(GAME.getWidth() - agent.getWidth());
-        }
-        if(agent.getY() < 0) {
-            agent.setY(0);
-        } else if(agent.getY() >= GAME.getHeight()) {
-            agent.setY(0f);
-            agent.setLastY(0f);
-        }
-    }
-
-    /**
-     * Calculates the score an agent should be set to.
-     * @param agent The agent to calculate the score for.
-     * @return The score.
-     */
-    private int calculateAgentScore(Agent agent) {
-        int prevScore = agent.getScore();
-        int score = 0;
-        float lastY = agent.getLastY();
-
-        if(agent.getY() > lastY) {
-            score = (int) (agent.getY() - lastY) * 10 + prevScore;
-            agent.setScore(score);
-            agent.setLastY(agent.getY());
-        }
-
-        return score;
-    }
-
     /**
      * Returns the highest score achieved this generation.
      * @return The highest score achieved this generation.
      */
     private int getHighScore() {
-        int highScore = 0;
-        for(Agent agent : agents) {
-            if(agent.getScore() > highScore) {
-                highScore = agent.getScore();
-            }
-        }
+        int highScore = simulation.getHighScore();
 
         if(highScore > highestOverallScore) {
             highestOverallScore = highScore;
@@ -425,25 +280,14 @@ public class GameScreen extends ScreenAdapter {
         return highScore;
     }
 
-    /**
-     * Checks to see whether all of our agents are dead.
-     * @return True if all agents are dead, false otherwise.
-     */
-    private boolean areAllAgentsDead() {
-        long numDead = agents.parallelStream().filter(Agent::isDead).count();
-        return numDead == NUM_AGENTS;
-    }
-
     /**
      * Resets the game objects back to their original positions for the next generation.
      */
     private void resetGame() {
-        hazards.parallelStream().forEach(Hazard::reset);
-
-        agents.parallelStream().forEach(agent -> {
-            agent.reset(GAME.getWidth() / 2f);
-            agent.setTexture(catBack);
-        });
+        networkBatch = new NetworkBatch(population.getNetworks());
+        simulation.reset();
+        simulation.updateViews();
+        simulation.getAgents().forEach(agent -> agent.setTexture(catBack));
     }
 
     /**
@@ -0,0 +1,60 @@
+package io.btown.kittener.game;
+
+/**
+ * Casts rays from an agent's tile in the eight compass directions over the occupancy grid, stepping a tile at a time.
+ * Each ray senses how many tiles away the first occupied tile is, as a fraction of the range of the rays, or 1 if
+ * there is none within range. Rays stop at the edge of the map. Directions are ordered clockwise from straight up.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class GridRaySensor implements Sensor {
+    /** The column and row steps of each direction a ray is cast in, clockwise from straight up. */
+    private static final int[] COLUMN_STEPS = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] ROW_STEPS    = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    /** The number of tiles each ray looks along. */
+    private final int range;
+
+    /**
+     * Constructor for a sensor whose rays look four tiles away.
+     */
+    public GridRaySensor() {
+        this(4);
+    }
+
+    /**
+     * Constructor for a sensor whose rays look the supplied number of tiles away.
+     * @param range The number of tiles each ray looks along.
+     */
+    public GridRaySensor(int range) {
+        if(range < 1) {
+            throw new IllegalArgumentException("Rays must look at least one tile away.");
+        }
+        this.range = range;
+    }
+
+    @Override
+    public int size(Simulation simulation) {
+        return COLUMN_STEPS.length;
+    }
+
+    @Override
+    public void sense(Simulation simulation, int agent, float[] vision, int offset) {
+        OccupancyGrid grid = simulation.getOccupancyGrid();
+        WorldState world = simulation.getWorld();
+        int agentColumn = (int) Math.floor(world.getAgentCenterX(agent) / Simulation.TILE_SIZE);
+        int agentRow = (int) Math.floor(world.getAgentCenterY(agent) / Simulation.TILE_SIZE);
+
+        for(int ray = 0; ray < COLUMN_STEPS.length; ray++) {
+            int distance = 1;
+            int column = agentColumn + COLUMN_STEPS[ray];
+            int row = agentRow + ROW_STEPS[ray];
+            while(distance < range && !grid.isOccupied(column, row)) {
+                distance++;
+                column += COLUMN_STEPS[ray];
+                row += ROW_STEPS[ray];
+            }
+            vision[offset + ray] = grid.isOccupied(column, row) ? (float) (distance - 1) / range : 1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.btown.kittener.game;
+
+/**
+ * Senses which of the tiles in a window around an agent are occupied by a hazard, reading one bit of the occupancy
+ * grid for each. A feature is 1 if its tile is occupied and 0 otherwise, ordered row by row from the bottom left of
+ * the window.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class GridWindowSensor implements Sensor {
+    /** The number of columns sensed on either side of the agent's column. */
+    private final int columnsAside;
+
+    /** The number of rows sensed below the agent's row. */
+    private final int rowsBelow;
+
+    /** The number of rows sensed above the agent's row. */
+    private final int rowsAbove;
+
+    /**
+     * Constructor for a sensor of the tiles up to two columns to either side of an agent, from the row below it to
+     * three rows above it.
+     */
+    public GridWindowSensor() {
+        this(2, 1, 3);
+    }
+
+    /**
+     * Constructor for a sensor of a window of the supplied size around an agent.
+     * @param columnsAside The number of columns sensed on either side of the agent's column.
+     * @param rowsBelow The number of rows sensed below the agent's row.
+     * @param rowsAbove The number of rows sensed above the agent's row.
+     */
+    public GridWindowSensor(int columnsAside, int rowsBelow, int rowsAbove) {
+        if(columnsAside < 0 || rowsBelow < 0 || rowsAbove < 0) {
+            throw new IllegalArgumentException("The size of the window can not be negative.");
+        }
+        this.columnsAside = columnsAside;
+        this.rowsBelow = rowsBelow;
+        this.rowsAbove = rowsAbove;
+    }
+
+    @Override
+    public int size(Simulation simulation) {
+        return (2 * columnsAside + 1) * (rowsBelow + 1 + rowsAbove);
+    }
+
+    @Override
+    public void sense(Simulation simulation, int agent, float[] vision, int offset) {
+        OccupancyGrid grid = simulation.getOccupancyGrid();
+        WorldState world = simulation.getWorld();
+        int agentColumn = (int) Math.floor(world.getAgentCenterX(agent) / Simulation.TILE_SIZE);
+        int agentRow = (int) Math.floor(world.getAgentCenterY(agent) / Simulation.TILE_SIZE);
+
+        for(int row = agentRow - rowsBelow; row <= agentRow + rowsAbove; row++) {
+            for(int column = agentColumn - columnsAside; column <= agentColumn + columnsAside; column++) {
+                vision[offset++] = grid.isOccupied(column, row) ? 1 : 0;
+            }
+        }
+    }
+}
@@ -5,37 +5,41 @@ import com.badlogic.gdx.math.Rectangle;
 
 /**
  * Class which represents a hazard that could appear in the game. The hazards textures and the
- * speed it travels.
+ * speed it starts travelling at. A simulation moves and resets its hazards in its WorldState and only copies their
+ * positions into them when asked to update its views, so they are views for rendering.
  * @author Brandon Townsend
- * @version 18 January 2020
+ * @version 19 October 2026
  */
 public class Hazard extends Rectangle {
+    /** The kind of vehicle this hazard is. */
+    private final Vehicles vehicle;
+
     /** The texture this hazard should be currently displayed as. */
     private Texture texture;
 
-    /** The speed at which this hazard should be currently traveling. */
-    private float speed;
-
-    private final int START_X_POS;
-    private final int START_Y_POS;
-    private final float START_SPEED;
+    /** The speed at which this hazard starts traveling. */
+    private final float speed;
 
     /**
-     * Constructs a new hazard with the supplied information.
-     * @param width The width (pixels) of the hazard.
-     * @param height The height (pixels) of the hazard.
+     * Constructs a new hazard with the supplied information. The hazard has no texture until one is applied, which
+     * lets it be simulated without a graphics context.
+     * @param vehicle The kind of vehicle, which determines the width and height (pixels) of the hazard.
      * @param xPos The x-coordinate position (pixels) of the hazard.
      * @param yPos The y-coordinate position (pixels) of the hazard.
-     * @param texture The texture to be applied to the hazard.
      * @param speed The speed at which the hazard should initially travel.
      */
-    public Hazard(int width, int height, int xPos, int yPos, Texture texture, float speed) {
-        super(xPos, yPos, width, height);
-        this.texture = texture;
-        START_X_POS = xPos;
-        START_Y_POS = yPos;
-        START_SPEED = speed;
-        this.speed = START_SPEED;
+    public Hazard(Vehicles vehicle, int xPos, int yPos, float speed) {
+        super(xPos, yPos, vehicle.width, vehicle.height);
+        this.vehicle = vehicle;
+        this.speed = speed;
+    }
+
+    /**
+     * Returns the kind of vehicle this hazard is.
+     * @return The kind of vehicle this hazard is.
+     */
+    public Vehicles getVehicle() {
+        return vehicle;
     }
 
     /**
@@ -55,27 +59,10 @@ public class Hazard extends Rectangle {
     }
 
     /**
-     * Returns the speed at which this hazard is currently traveling.
-     * @return The speed at which this hazard is currently traveling.
+     * Returns the speed at which this hazard starts traveling.
+     * @return The speed at which this hazard starts traveling.
      */
     public float getSpeed() {
         return speed;
     }
-
-    /**
-     * Sets the new traveling speed for this hazard.
-     * @param speed The new speed to travel at.
-     */
-    public void setSpeed(float speed) {
-        this.speed = speed;
-    }
-
-    /**
-     * Resets this hazard back to its starting position and speed.
-     */
-    public void reset() {
-        setX(START_X_POS);
-        setY(START_Y_POS);
-        setSpeed(START_SPEED);
-    }
 }
@@ -0,0 +1,31 @@
+package io.btown.kittener.game;
+
+/**
+ * Senses the distance (pixels) between the center of an agent and the center of every hazard, in the order the hazards
+ * were spawned. Its size is the number of hazards, so each hazard added to a map adds a feature.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class HazardDistanceSensor implements Sensor {
+    @Override
+    public int size(Simulation simulation) {
+        return simulation.getWorld().getNumHazards();
+    }
+
+    @Override
+    public void sense(Simulation simulation, int agent, float[] vision, int offset) {
+        WorldState world = simulation.getWorld();
+
+        // Grab the position of the agent's center.
+        float agentX = world.getAgentCenterX(agent);
+        float agentY = world.getAgentCenterY(agent);
+
+        for(int i = 0; i < world.getNumHazards(); i++) {
+            float dx = agentX - (world.getHazardX(i) + world.getHazardWidth(i) / 2);
+            float dy = agentY - (world.getHazardY(i) + world.getHazardHeight(i) / 2);
+
+            // Comparing the distances between our agent and all the hazards on the game board.
+            vision[offset + i] = (float) Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+}
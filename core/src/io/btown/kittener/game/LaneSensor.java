@@ -0,0 +1,110 @@
+package io.btown.kittener.game;
+
+/**
+ * Senses the lanes around an agent rather than every hazard, so its size stays the same however crowded a map gets.
+ * For its own lane and a fixed number of lanes below and above it, an agent senses three features:
+ * <ul>
+ *     <li>how far away the nearest hazard in the lane is, edge to edge, as a fraction of the map's width;</li>
+ *     <li>how soon a hazard in the lane will reach the agent at the speeds they are moving at, as a fraction of
+ *     MAX_TIME_TO_COLLISION;</li>
+ *     <li>the speed of the nearest hazard relative to the agent, as a fraction of the fastest closing speed.</li>
+ * </ul>
+ * A lane without hazards, or outside the map, reads as far away, never reached and not moving. Only the hazards of
+ * the lanes sensed are looked at.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class LaneSensor implements Sensor {
+    /** The number of features sensed in each lane. */
+    public static final int FEATURES_PER_LANE = 3;
+
+    /** The time (seconds) beyond which a hazard is not considered to be about to reach an agent. */
+    public static final float MAX_TIME_TO_COLLISION = 2f;
+
+    /** The fastest a hazard and an agent can close in on each other (pixels per second). */
+    private static final float MAX_RELATIVE_SPEED = Speeds.RIGHT_FAST.objectSpeed + Speeds.RIGHT_MED.objectSpeed;
+
+    /** The number of lanes sensed below the agent's lane. */
+    private final int lanesBelow;
+
+    /** The number of lanes sensed above the agent's lane. */
+    private final int lanesAbove;
+
+    /**
+     * Constructor for a sensor of the lane below an agent, its own lane and the two lanes above it.
+     */
+    public LaneSensor() {
+        this(1, 2);
+    }
+
+    /**
+     * Constructor for a sensor of the supplied number of lanes around an agent.
+     * @param lanesBelow The number of lanes sensed below the agent's lane.
+     * @param lanesAbove The number of lanes sensed above the agent's lane.
+     */
+    public LaneSensor(int lanesBelow, int lanesAbove) {
+        if(lanesBelow < 0 || lanesAbove < 0) {
+            throw new IllegalArgumentException("The number of lanes sensed can not be negative.");
+        }
+        this.lanesBelow = lanesBelow;
+        this.lanesAbove = lanesAbove;
+    }
+
+    @Override
+    public int size(Simulation simulation) {
+        return FEATURES_PER_LANE * (lanesBelow + 1 + lanesAbove);
+    }
+
+    @Override
+    public void sense(Simulation simulation, int agent, float[] vision, int offset) {
+        WorldState world = simulation.getWorld();
+        Lanes lanes = simulation.getLanes();
+        float left = world.getAgentX(agent);
+        float right = left + Agent.WIDTH;
+        float agentSpeed = Simulation.horizontalSpeedOf(world.getAgentDirection(agent));
+        int agentLane = lanes.laneOf(world.getAgentCenterY(agent));
+
+        for(int lane = agentLane - lanesBelow; lane <= agentLane + lanesAbove; lane++, offset += FEATURES_PER_LANE) {
+            float nearestGap = simulation.getWidth();
+            float nearestSpeed = 0;
+            float timeToCollision = MAX_TIME_TO_COLLISION;
+
+            if(lane >= 0 && lane < lanes.getNumLanes()) {
+                for(int i = lanes.getStart(lane); i < lanes.getEnd(lane); i++) {
+                    int hazard = lanes.getHazard(i);
+                    float hazardLeft = world.getHazardX(hazard);
+                    float hazardRight = hazardLeft + world.getHazardWidth(hazard);
+                    float relativeSpeed = world.getHazardSpeed(hazard) - agentSpeed;
+
+                    // The gap between the hazard and the agent, and the speed it is closing at.
+                    float gap;
+                    float closingSpeed;
+                    if(hazardRight < left) {
+                        gap = left - hazardRight;
+                        closingSpeed = relativeSpeed;
+                    } else if(hazardLeft > right) {
+                        gap = hazardLeft - right;
+                        closingSpeed = -relativeSpeed;
+                    } else {
+                        gap = 0;
+                        closingSpeed = Math.abs(relativeSpeed);
+                    }
+
+                    if(gap < nearestGap) {
+                        nearestGap = gap;
+                        nearestSpeed = relativeSpeed;
+                    }
+                    if(gap == 0) {
+                        timeToCollision = 0;
+                    } else if(closingSpeed > 0) {
+                        timeToCollision = Math.min(timeToCollision, gap / closingSpeed);
+                    }
+                }
+            }
+
+            vision[offset] = Math.min(nearestGap / simulation.getWidth(), 1f);
+            vision[offset + 1] = timeToCollision / MAX_TIME_TO_COLLISION;
+            vision[offset + 2] = nearestSpeed / MAX_RELATIVE_SPEED;
+        }
+    }
+}
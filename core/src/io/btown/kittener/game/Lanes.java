@@ -0,0 +1,92 @@
+package io.btown.kittener.game;
+
+/**
+ * The hazards of a map grouped by the lane they drive in. Lanes are the rows of tiles, numbered from the bottom of the
+ * map. Hazards never change lanes, so the grouping is built once and sensors can look at the hazards of a single lane
+ * without going through every hazard on the map. Hazards whose lane is outside the map are in no lane, since no agent
+ * can be next to them.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class Lanes {
+    /** The number of lanes on the map. */
+    private final int numLanes;
+
+    /** The hazards of lane i are the hazards from start[i] up to start[i + 1]. */
+    private final int[] start;
+
+    /** The index in the world state of every hazard, ordered by lane. */
+    private final int[] hazards;
+
+    /**
+     * Groups the hazards of the supplied world by lane.
+     * @param world The world whose hazards are grouped.
+     * @param height The height (pixels) of the map.
+     */
+    Lanes(WorldState world, int height) {
+        numLanes = height / Simulation.TILE_SIZE;
+        start = new int[numLanes + 1];
+        for(int i = 0; i < world.getNumHazards(); i++) {
+            int lane = laneOf(world.getHazardY(i));
+            if(lane >= 0 && lane < numLanes) {
+                start[lane + 1]++;
+            }
+        }
+        for(int lane = 0; lane < numLanes; lane++) {
+            start[lane + 1] += start[lane];
+        }
+
+        hazards = new int[start[numLanes]];
+        int[] next = start.clone();
+        for(int i = 0; i < world.getNumHazards(); i++) {
+            int lane = laneOf(world.getHazardY(i));
+            if(lane >= 0 && lane < numLanes) {
+                hazards[next[lane]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of lanes on the map.
+     * @return The number of lanes on the map.
+     */
+    public int getNumLanes() {
+        return numLanes;
+    }
+
+    /**
+     * Returns the lane the supplied y-coordinate lies in, which is outside the map if the coordinate is.
+     * @param y The y-coordinate (pixels).
+     * @return The lane the y-coordinate lies in.
+     */
+    public int laneOf(float y) {
+        return (int) Math.floor(y / Simulation.TILE_SIZE);
+    }
+
+    /**
+     * Returns the index of the first hazard in the supplied lane.
+     * @param lane A lane on the map.
+     * @return The index of the first hazard in the lane.
+     */
+    public int getStart(int lane) {
+        return start[lane];
+    }
+
+    /**
+     * Returns the index after the last hazard in the supplied lane.
+     * @param lane A lane on the map.
+     * @return The index after the last hazard in the lane.
+     */
+    public int getEnd(int lane) {
+        return start[lane + 1];
+    }
+
+    /**
+     * Returns the index in the world state of the hazard at the supplied index.
+     * @param index The index of the hazard, between the start and end of its lane.
+     * @return The index of the hazard in the world state.
+     */
+    public int getHazard(int index) {
+        return hazards[index];
+    }
+}
@@ -17,6 +17,12 @@ public class MainGame extends com.badlogic.gdx.Game {
     /** The height of the application window. */
     private final int HEIGHT;
 
+    /** The number of steps between an agent's decisions in the game screen. */
+    private final int decisionInterval;
+
+    /** What agents sense in the game screen. */
+    private final Sensor[] sensors;
+
     /** Sprite batch used to draw 2D shapes. */
     public SpriteBatch batch;
 
@@ -35,8 +41,24 @@ public class MainGame extends com.badlogic.gdx.Game {
      * @param height The height of the window.
      */
     public MainGame(int width, int height) {
+        this(width, height, Simulation.DEFAULT_DECISION_INTERVAL, new LaneSensor());
+    }
+
+    /**
+     * Passing the application window size, how often agents decide and what they sense to the game.
+     * @param width The width of the window.
+     * @param height The height of the window.
+     * @param decisionInterval The number of steps between an agent's decisions.
+     * @param sensors What agents sense.
+     */
+    public MainGame(int width, int height, int decisionInterval, Sensor... sensors) {
+        if(decisionInterval < 1) {
+            throw new IllegalArgumentException("Agents must decide at least every step they are given.");
+        }
         WIDTH  = width;
         HEIGHT = height;
+        this.decisionInterval = decisionInterval;
+        this.sensors = sensors.clone();
     }
 
     /**
@@ -55,6 +77,22 @@ public class MainGame extends com.badlogic.gdx.Game {
         return HEIGHT;
     }
 
+    /**
+     * Returns the number of steps between an agent's decisions in the game screen.
+     * @return The number of steps between an agent's decisions.
+     */
+    public int getDecisionInterval() {
+        return decisionInterval;
+    }
+
+    /**
+     * Returns what agents sense in the game screen.
+     * @return What agents sense.
+     */
+    public Sensor[] getSensors() {
+        return sensors.clone();
+    }
+
     /**
      * Method called once the application is created. Assets are usually loaded here.
      */
@@ -0,0 +1,80 @@
+package io.btown.kittener.game;
+
+import java.util.Arrays;
+
+/**
+ * A bitmap of the tiles of a map that a hazard is on, one bit per tile. Each row of tiles is kept in its own words,
+ * so that a sensor can tell whether a tile is occupied with a single bit lookup rather than by going through every
+ * hazard. The bitmap is rasterized again whenever the hazards have moved.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class OccupancyGrid {
+    private final int numColumns;
+    private final int numRows;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    /**
+     * Constructor for an empty grid covering a map of the supplied size.
+     * @param width The width (pixels) of the map.
+     * @param height The height (pixels) of the map.
+     */
+    OccupancyGrid(int width, int height) {
+        numColumns = width / Simulation.TILE_SIZE;
+        numRows = height / Simulation.TILE_SIZE;
+        wordsPerRow = (numColumns + 63) / 64;
+        bits = new long[wordsPerRow * numRows];
+    }
+
+    /**
+     * Marks every tile that the hazards of the supplied world overlap, and no others. Parts of hazards outside the map
+     * are ignored.
+     * @param world The world whose hazards are marked.
+     */
+    void rasterize(WorldState world) {
+        Arrays.fill(bits, 0);
+        for(int i = 0; i < world.getNumHazards(); i++) {
+            float x = world.getHazardX(i);
+            int row = (int) Math.floor(world.getHazardY(i) / Simulation.TILE_SIZE);
+            if(row < 0 || row >= numRows) {
+                continue;
+            }
+            int first = Math.max((int) Math.floor(x / Simulation.TILE_SIZE), 0);
+            int last = Math.min((int) Math.ceil((x + world.getHazardWidth(i)) / Simulation.TILE_SIZE) - 1,
+                    numColumns - 1);
+            for(int column = first; column <= last; column++) {
+                bits[row * wordsPerRow + (column >>> 6)] |= 1L << column;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of columns of tiles.
+     * @return The number of columns of tiles.
+     */
+    public int getNumColumns() {
+        return numColumns;
+    }
+
+    /**
+     * Returns the number of rows of tiles.
+     * @return The number of rows of tiles.
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Returns whether a hazard is on the supplied tile. Tiles outside the map are never occupied.
+     * @param column The column of the tile, counted from the left.
+     * @param row The row of the tile, counted from the bottom.
+     * @return True if a hazard is on the tile.
+     */
+    public boolean isOccupied(int column, int row) {
+        if(column < 0 || column >= numColumns || row < 0 || row >= numRows) {
+            return false;
+        }
+        return (bits[row * wordsPerRow + (column >>> 6)] & 1L << column) != 0;
+    }
+}
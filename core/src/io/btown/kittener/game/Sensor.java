@@ -0,0 +1,27 @@
+package io.btown.kittener.game;
+
+/**
+ * Extracts a fixed number of features from the simulation as an agent sees it. An agent's vision is made of the
+ * features of every sensor of its simulation, one sensor after the other. Sensors are shared between simulations
+ * running on different threads, so they should not keep any state of their own.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public interface Sensor {
+    /**
+     * Returns the number of features this sensor extracts on the supplied simulation's map.
+     * @param simulation The simulation agents sense.
+     * @return The number of features this sensor extracts.
+     */
+    int size(Simulation simulation);
+
+    /**
+     * Writes what the supplied agent senses into its vision. The agent and the hazards are found in the simulation's
+     * world state.
+     * @param simulation The simulation the agent is in.
+     * @param agent The index of the agent that is sensing.
+     * @param vision The agent's vision.
+     * @param offset Where this sensor's features start in the vision.
+     */
+    void sense(Simulation simulation, int agent, float[] vision, int offset);
+}
@@ -0,0 +1,587 @@
+package io.btown.kittener.game;
+
+import com.badlogic.gdx.graphics.Texture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Simulation class contains the game logic of Kittener, i.e. moving the hazards and agents and checking whether
+ * agents have died. It holds no textures, so it can be stepped both by the GameScreen and by headless evaluation.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class Simulation {
+    /** The pixel length of a side of a game tile. */
+    public static final int TILE_SIZE = 32;
+
+    /** The width (pixels) of the default Kittener map. */
+    public static final int DEFAULT_WIDTH = TILE_SIZE * 16;
+
+    /** The height (pixels) of the default Kittener map. */
+    public static final int DEFAULT_HEIGHT = TILE_SIZE * 12;
+
+    /** The number of directions (up, down, left, right and standing still) an agent can choose from. */
+    public static final int NUM_DIRECTIONS = 5;
+
+    /** The number of steps between an agent's decisions unless a simulation is told otherwise. The game window,
+     *  core:train and the training server all start from it, but each can be given another interval. */
+    public static final int DEFAULT_DECISION_INTERVAL = 1;
+
+    /** How long (seconds) an agent may go without increasing its score before it is killed off. */
+    private static final float STILL_LIMIT = 8f;
+
+    /** The width of the map. */
+    private final int width;
+
+    /** The height of the map. */
+    private final int height;
+
+    /** Left-side bound of the map for spawning hazards/platforms. */
+    private final int leftBounds;
+
+    /** Right-side bound of the map for spawning hazards/platforms. */
+    private final int rightBounds;
+
+    /** List of all hazards in the game, which are views of the hazards of the world state for rendering. */
+    private final ArrayList<Hazard> hazards;
+
+    /** List of all agents in the game, which are views of the agents of the world state for rendering. */
+    private final ArrayList<Agent> agents;
+
+    /** What each agent sensed the last time it decided, by the index of the agent. */
+    private final ArrayList<float[]> visions;
+
+    /** The state of every agent and hazard, which the simulation updates. */
+    private final WorldState world;
+
+    /** The hazards grouped by the lane they drive in. */
+    private final Lanes lanes;
+
+    /** The tiles the hazards are on, rasterized on demand at most once per step. */
+    private final OccupancyGrid occupancyGrid;
+
+    /** Whether the hazards have moved since the occupancy grid was last rasterized. */
+    private boolean occupancyStale;
+
+    /** What agents sense, one sensor after the other. */
+    private Sensor[] sensors;
+
+    /** The number of steps between an agent's decisions. */
+    private int decisionInterval;
+
+    /** Whether agents decide on different steps rather than all on the same ones. */
+    private boolean staggerDecisions;
+
+    /** The number of steps simulated so far. */
+    private long steps;
+
+    /**
+     * Constructs a simulation for a map of the supplied size and spawns its hazards.
+     * @param width The width (pixels) of the map.
+     * @param height The height (pixels) of the map.
+     */
+    public Simulation(int width, int height) {
+        this.width = width;
+        this.height = height;
+        leftBounds = (-TILE_SIZE * 5);
+        rightBounds = width + (TILE_SIZE * 5);
+        hazards = new ArrayList<>();
+        agents = new ArrayList<>();
+        visions = new ArrayList<>();
+        decisionInterval = DEFAULT_DECISION_INTERVAL;
+        spawnMapObjects();
+        world = new WorldState(hazards);
+        lanes = new Lanes(world, height);
+        occupancyGrid = new OccupancyGrid(width, height);
+        occupancyStale = true;
+        sensors = defaultSensors();
+    }
+
+    /**
+     * Helper method used to spawn various map objects. Hazards take the form of:
+     *      vehicle, column (pixels), row (pixels), and speed.
+     * You can uncomment or add any extra that you would like. If they do not appear, the hazards beginning x location is
+     * most likely over the left or right bounds.
+     */
+    private void spawnMapObjects() {
+        // Hazards on the first row from the bottom.
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -20, 32, Speeds.RIGHT_MED.objectSpeed));
+//        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -84, 32, Speeds.RIGHT_MED.objectSpeed));
+//        hazards.add(new Hazard(Vehicles.YELLOW_CAR, leftBounds+16, 32, Speeds.RIGHT_MED.objectSpeed));
+
+        // Hazards on the second row from the bottom.
+        hazards.add(new Hazard(Vehicles.BUS, width + 32, 32*2, Speeds.LEFT_SLOW.objectSpeed));
+//        hazards.add(new Hazard(Vehicles.BUS, rightBounds, 32*2, Speeds.LEFT_SLOW.objectSpeed));
+
+        // Hazards on the third row from the bottom.
+//        hazards.add(new Hazard(Vehicles.RACE_CAR, rightBounds, 32*3, Speeds.LEFT_FAST.objectSpeed));
+
+        // Hazards on the fourth row from the bottom.
+//        hazards.add(new Hazard(Vehicles.BUS, width+32, 32*4, Speeds.LEFT_SLOW.objectSpeed));
+//        hazards.add(new Hazard(Vehicles.BUS, rightBounds-32, 32*4, Speeds.LEFT_SLOW.objectSpeed));
+
+        // Hazards on the fourth row from the bottom.
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -40, 32*4, Speeds.RIGHT_MED.objectSpeed));
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -104, 32*4, Speeds.RIGHT_MED.objectSpeed));
+//        hazards.add(new Hazard(Vehicles.YELLOW_CAR, leftBounds, 32*4, Speeds.RIGHT_MED.objectSpeed));
+
+        // Hazards on the seventh row from the bottom.
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -16, 32*6, Speeds.RIGHT_MED.objectSpeed));
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -80, 32*6, Speeds.RIGHT_MED.objectSpeed));
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, leftBounds+16, 32*6, Speeds.RIGHT_MED.objectSpeed));
+
+        // Hazards on the eighth row from the bottom.
+        hazards.add(new Hazard(Vehicles.BUS, width, 32*7, Speeds.LEFT_SLOW.objectSpeed));
+        hazards.add(new Hazard(Vehicles.BUS, rightBounds, 32*7, Speeds.LEFT_SLOW.objectSpeed));
+
+        // Hazards on the ninth row from the bottom.
+        hazards.add(new Hazard(Vehicles.RACE_CAR, rightBounds, 32*8, Speeds.LEFT_FAST.objectSpeed));
+
+        // Hazards on the tenth row from the bottom.
+        hazards.add(new Hazard(Vehicles.BUS, width+32, 32*9, Speeds.LEFT_SLOW.objectSpeed));
+        hazards.add(new Hazard(Vehicles.BUS, rightBounds-32, 32*9, Speeds.LEFT_SLOW.objectSpeed));
+
+        // Hazards on the eleventh row from the bottom.
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -32, 32*10, Speeds.RIGHT_MED.objectSpeed));
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, -96, 32*10, Speeds.RIGHT_MED.objectSpeed));
+        hazards.add(new Hazard(Vehicles.YELLOW_CAR, leftBounds, 32*10, Speeds.RIGHT_MED.objectSpeed));
+    }
+
+    /**
+     * Creates a new agent at the spawn point of this map and adds it to the simulation.
+     * @param texture The starting texture it should be displayed as. May be null when running headless.
+     * @return The newly spawned agent.
+     */
+    public Agent spawnAgent(Texture texture) {
+        Agent agent = new Agent(world.addAgent(getSpawnX()), texture, getSpawnX());
+        agents.add(agent);
+        visions.add(new float[getVisionSize()]);
+        return agent;
+    }
+
+    /**
+     * Advances the simulation by one step. Moves every hazard, lets every living agent choose and perform a move
+     * and then checks for collisions. Only the world state changes; the agents and hazards are brought up to date by
+     * updateViews().
+     * @param delta The time (seconds) this step covers.
+     * @param controller Chooses the direction each living agent moves in.
+     */
+    public void update(float delta, AgentController controller) {
+        // Each hazard moving.
+        updateHazards(delta);
+
+        // Each agent moving.
+        updateAgents(delta, controller);
+
+        // Check collision.
+        checkCollisions();
+
+        steps++;
+    }
+
+    /**
+     * Sets how often agents decide which direction to move in. In between, each agent keeps moving in the direction
+     * it chose last, while hazards and agents still move every step. An agent always decides on its first step after
+     * being spawned or reset.
+     * @param interval The number of steps between an agent's decisions. 1 makes every agent decide every step.
+     * @param staggered Whether agents decide on different steps, spreading the decisions evenly over the interval,
+     *                  rather than all deciding on the same steps.
+     */
+    public void setDecisionInterval(int interval, boolean staggered) {
+        if(interval < 1) {
+            throw new IllegalArgumentException("Agents must decide at least every step they are given.");
+        }
+        decisionInterval = interval;
+        staggerDecisions = staggered;
+    }
+
+    /**
+     * Sets what agents sense. Each agent's vision holds the features of every supplied sensor, one after the other.
+     * Should be set before any agent is spawned, so that networks are given the right number of inputs. By default,
+     * agents sense the distance to every hazard.
+     * @param sensors The sensors agents sense the simulation with.
+     */
+    public void setSensors(Sensor... sensors) {
+        this.sensors = sensors.clone();
+    }
+
+    /**
+     * Returns the sensors agents sense a simulation with unless they are told otherwise: the distance to every hazard.
+     * @return The default sensors.
+     */
+    public static Sensor[] defaultSensors() {
+        return new Sensor[] {new HazardDistanceSensor()};
+    }
+
+    /**
+     * Returns new sensors of the supplied kind: hazards, the distance to every hazard, lanes, the lanes around an
+     * agent, rays, rays cast over the occupied tiles, or window, the occupied tiles around an agent.
+     * @param name The kind of sensors.
+     * @return New sensors of the supplied kind.
+     */
+    public static Sensor[] sensorsNamed(String name) {
+        switch(name) {
+            case "hazards":
+                return defaultSensors();
+            case "lanes":
+                return new Sensor[] {new LaneSensor()};
+            case "rays":
+                return new Sensor[] {new GridRaySensor()};
+            case "window":
+                return new Sensor[] {new GridWindowSensor()};
+            default:
+                throw new IllegalArgumentException("Unknown sensors: " + name);
+        }
+    }
+
+    /**
+     * Returns whether the agent at the supplied index decides which direction to move in on the current step, in
+     * which case its vision is updated before it is asked.
+     * @param index The index of the agent.
+     * @return True if the agent decides on the current step.
+     */
+    public boolean isDeciding(int index) {
+        int offset = staggerDecisions ? index % decisionInterval : 0;
+        return world.direction[index] == Agent.UNDECIDED || (steps + offset) % decisionInterval == 0;
+    }
+
+    /**
+     * Checks to see whether agents have collided with any map objects.
+     */
+    private void checkCollisions() {
+        float[] hazardX = world.hazardX;
+        float[] hazardY = world.hazardY;
+        float[] hazardWidth = world.hazardWidth;
+        float[] hazardHeight = world.hazardHeight;
+        for(int i = 0; i < world.numAgents; i++) {
+
+            if(!world.dead[i]) {
+                float x = world.agentX[i];
+                float y = world.agentY[i];
+                boolean hit = false;
+                for(int j = 0; j < world.numHazards; j++) {
+                    hit |= hazardX[j] < x + Agent.WIDTH && hazardX[j] + hazardWidth[j] > x
+                            && hazardY[j] < y + Agent.HEIGHT && hazardY[j] + hazardHeight[j] > y;
+                }
+                world.dead[i] = hit;
+            }
+        }
+    }
+
+    /**
+     * Helper method to control the hazards' movements.
+     * @param delta The time between two frames.
+     */
+    private void updateHazards(float delta) {
+        float[] hazardX = world.hazardX;
+        float[] hazardSpeed = world.hazardSpeed;
+        for(int i = 0; i < world.numHazards; i++) {
+            float x = hazardX[i] + (hazardSpeed[i] * delta);
+
+            // Wrapping the hazards around the screen. Simulates "respawning".
+            if(x > rightBounds) {
+                x = leftBounds;
+            } else if(x < leftBounds) {
+                x = rightBounds;
+            }
+            hazardX[i] = x;
+        }
+        occupancyStale = true;
+    }
+
+    /**
+     * Helper method that controls each agents' movements.
+     * @param delta The time between two frames.
+     * @param controller Chooses the direction each living agent moves in.
+     */
+    private void updateAgents(float delta, AgentController controller) {
+        // Agents only see the hazards, which do not move until the next step, so every agent's vision can be updated
+        // before any of them moves. The controller is then free to decide for all of them at once.
+        for(int i = 0; i < world.numAgents; i++) {
+            if(!world.dead[i] && isDeciding(i)) {
+                updateAgentVision(i);
+            }
+        }
+        controller.prepareStep(world);
+
+        for(int i = 0; i < world.numAgents; i++) {
+
+            // Perform the following if the agent is not dead.
+            if(!world.dead[i]) {
+                if(isDeciding(i)) {
+                    world.direction[i] = controller.chooseDirection(i, visions.get(i));
+                }
+                moveAgent(i, world.direction[i], delta);
+
+                int prevScore = world.score[i];
+                int newScore = calculateAgentScore(i);
+
+                // If the agent has not increased in score, add to the stillness timer.
+                if(prevScore >= newScore) {
+                    world.stillTimer[i] += delta;
+
+                    // If an agent is still for longer than 8 seconds, we kill it off.
+                    if(world.stillTimer[i] > STILL_LIMIT) {
+                        world.dead[i] = true;
+                    }
+                } else {
+                    world.stillTimer[i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the agent's vision array with what each sensor senses. The array is reused from step to step.
+     * @param index The index of the agent whose vision array should be updated.
+     */
+    private void updateAgentVision(int index) {
+        float[] vision = visions.get(index);
+        if(vision.length != getVisionSize()) {
+            vision = new float[getVisionSize()];
+            visions.set(index, vision);
+        }
+
+        int offset = 0;
+        for(Sensor sensor : sensors) {
+            sensor.sense(this, index, vision, offset);
+            offset += sensor.size(this);
+        }
+    }
+
+    /**
+     * Moves a specified agent in a supplied direction and makes sure the agent does not escape
+     * the game bounds.
+     * @param index The index of the agent to move.
+     * @param direction The direction in which the agent should move.
+     * @param delta The time between frames.
+     */
+    private void moveAgent(int index, int direction, float delta) {
+        float x = world.agentX[index];
+        float y = world.agentY[index];
+        switch(direction) {
+            case 0: // Moving up.
+                y += Speeds.RIGHT_MED.move(delta);
+                world.facing[index] = direction;
+                break;
+            case 1: // Moving down.
+                y += Speeds.LEFT_MED.move(delta);
+                world.facing[index] = direction;
+                break;
+            case 2: // Moving left.
+                x += Speeds.LEFT_MED.move(delta);
+                world.facing[index] = direction;
+                break;
+            case 3: // Moving right.
+                x += Speeds.RIGHT_MED.move(delta);
+                world.facing[index] = direction;
+                break;
+            default: // Choosing not to move.
+                break;
+        }
+
+        // Make sure the agents do not escape the game bounds.
+        if(x < 0) {
+            x = 0;
+        } else if(x + Agent.WIDTH > width) {
+            x = width - Agent.WIDTH;
+        }
+        if(y < 0) {
+            y = 0;
+        } else if(y >= height) {
+            y = 0f;
+            world.lastY[index] = 0f;
+        }
+        world.agentX[index] = x;
+        world.agentY[index] = y;
+    }
+
+    /**
+     * Calculates the score an agent should be set to.
+     * @param index The index of the agent to calculate the score for.
+     * @return The score.
+     */
+    private int calculateAgentScore(int index) {
+        int prevScore = world.score[index];
+        int score = 0;
+        float y = world.agentY[index];
+        float lastY = world.lastY[index];
+
+        if(y > lastY) {
+            score = (int) (y - lastY) * 10 + prevScore;
+            world.score[index] = score;
+            world.lastY[index] = y;
+        }
+
+        return score;
+    }
+
+    /**
+     * Copies the world state into the agents and hazards, which are only views of it. Nothing in the simulation reads
+     * them, so this is only needed before they are drawn or reported, not after every step.
+     */
+    public void updateViews() {
+        for(int i = 0; i < world.numHazards; i++) {
+            hazards.get(i).setPosition(world.hazardX[i], world.hazardY[i]);
+        }
+        for(int i = 0; i < world.numAgents; i++) {
+            agents.get(i).update(world.agentX[i], world.agentY[i], world.score[i], world.facing[i], world.dead[i]);
+        }
+    }
+
+    /**
+     * Returns the highest score achieved by any agent since the last reset.
+     * @return The highest score achieved by any agent since the last reset.
+     */
+    public int getHighScore() {
+        int highScore = 0;
+        for(int i = 0; i < world.numAgents; i++) {
+            if(world.score[i] > highScore) {
+                highScore = world.score[i];
+            }
+        }
+        return highScore;
+    }
+
+    /**
+     * Checks to see whether all of our agents are dead.
+     * @return True if all agents are dead, false otherwise.
+     */
+    public boolean areAllAgentsDead() {
+        for(int i = 0; i < world.numAgents; i++) {
+            if(!world.dead[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resets the game objects back to their original positions and clears what every agent sensed. Like update(), this
+     * leaves the views to updateViews().
+     */
+    public void reset() {
+        world.resetHazards();
+        occupancyStale = true;
+        for(int i = 0; i < world.numAgents; i++) {
+            world.resetAgent(i, getSpawnX());
+            Arrays.fill(visions.get(i), 0f);
+        }
+    }
+
+    /**
+     * Returns the index of the largest value in a network's output, which is the direction the network chose.
+     * @param output The output of a network.
+     * @return The direction the network chose.
+     */
+    public static int directionOf(double[] output) {
+        int dir = 0;
+        for(int i = 0; i < output.length; i++) {
+            if(output[i] > output[dir]) {
+                dir = i;
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Returns the number of values in each agent's vision array.
+     * @return The number of values in each agent's vision array.
+     */
+    public int getVisionSize() {
+        int size = 0;
+        for(Sensor sensor : sensors) {
+            size += sensor.size(this);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the width (pixels) of the map.
+     * @return The width (pixels) of the map.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the state of every agent and hazard as it is now, which sensors sense.
+     * @return The state of every agent and hazard.
+     */
+    public WorldState getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns the hazards of the map grouped by the lane they drive in.
+     * @return The hazards of the map grouped by lane.
+     */
+    public Lanes getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Returns what an agent sensed the last time it decided. The same array is refilled every time the agent decides.
+     * @param index The index of the agent.
+     * @return What the agent sensed the last time it decided.
+     */
+    public float[] getVision(int index) {
+        return visions.get(index);
+    }
+
+    /**
+     * Returns the tiles the hazards are on as they are now. The grid is only rasterized when it is first asked for
+     * after the hazards move, so it is shared by every agent's sensors each step and costs nothing when no sensor uses
+     * it.
+     * @return The tiles the hazards are on.
+     */
+    public OccupancyGrid getOccupancyGrid() {
+        if(occupancyStale) {
+            occupancyGrid.rasterize(world);
+            occupancyStale = false;
+        }
+        return occupancyGrid;
+    }
+
+    /**
+     * Returns the speed (pixels per second) an agent moving in the supplied direction moves sideways at.
+     * @param direction The direction the agent is moving in.
+     * @return The speed the agent moves sideways at, negative when moving left.
+     */
+    public static float horizontalSpeedOf(int direction) {
+        switch(direction) {
+            case 2:
+                return Speeds.LEFT_MED.objectSpeed;
+            case 3:
+                return Speeds.RIGHT_MED.objectSpeed;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the x-coordinate agents spawn at.
+     * @return The x-coordinate agents spawn at.
+     */
+    public float getSpawnX() {
+        return width / 2f;
+    }
+
+    /**
+     * Returns all hazards in the simulation, as they were when the views were last updated.
+     * @return All hazards in the simulation.
+     */
+    public List<Hazard> getHazards() {
+        return hazards;
+    }
+
+    /**
+     * Returns all agents in the simulation, as they were when the views were last updated.
+     * @return All agents in the simulation.
+     */
+    public List<Agent> getAgents() {
+        return agents;
+    }
+}
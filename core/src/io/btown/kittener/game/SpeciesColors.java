@@ -0,0 +1,63 @@
+package io.btown.kittener.game;
+
+import com.badlogic.gdx.graphics.Color;
+
+import java.util.*;
+
+/**
+ * Maps the species ids handed out by the NEAT population to the colors their agents are drawn in. Each species is
+ * given a random color the first time it is seen, distinct from every color already handed out.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class SpeciesColors {
+    /** The color of each species seen so far that has not gone extinct. */
+    private final Map<Integer, Color> colors;
+
+    /**
+     * Constructor for an empty mapping. Organisms without a species (id 0) are drawn white.
+     */
+    public SpeciesColors() {
+        colors = new HashMap<>();
+        colors.put(0, Color.WHITE);
+    }
+
+    /**
+     * Returns the color of the supplied species, choosing one if the species has not been seen before.
+     * @param speciesId The id of the species.
+     * @return The color of the species.
+     */
+    public Color get(int speciesId) {
+        return colors.computeIfAbsent(speciesId, id -> {
+            Random random = new Random();
+            Color color;
+            do {
+                float red = random.nextFloat();
+                float blue = random.nextFloat();
+                float green = random.nextFloat();
+                color = new Color(red, blue, green, 1);
+            } while(alreadyChosen(color));
+            return color;
+        });
+    }
+
+    /**
+     * Forgets the color of every species that is not among the supplied ones, e.g. because it went extinct. Species
+     * ids are never reused, so a forgotten color is never needed again.
+     * @param speciesIds The ids of the species that still have organisms.
+     */
+    public void retain(Set<Integer> speciesIds) {
+        colors.keySet().removeIf(id -> id != 0 && !speciesIds.contains(id));
+    }
+
+    /**
+     * Returns true if a color close to the supplied one has already been handed out.
+     */
+    private boolean alreadyChosen(Color chosen) {
+        for(Color taken : colors.values()) {
+            float diff = Math.abs(taken.r - chosen.r + taken.b - chosen.b + taken.g - chosen.g);
+            if(diff <= 0.001f) return true;
+        }
+        return false;
+    }
+}
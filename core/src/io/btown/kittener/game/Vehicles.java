@@ -0,0 +1,29 @@
+package io.btown.kittener.game;
+
+/**
+ * Enumeration containing the kinds of vehicles that can drive across the map and their sizes. Kept separate from any
+ * texture so the simulation can run without a graphics context.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public enum Vehicles {
+    YELLOW_CAR(32, 32),
+    RACE_CAR(32, 32),
+    BUS(64, 32);
+
+    /** The width (pixels) of the vehicle. */
+    public final int width;
+
+    /** The height (pixels) of the vehicle. */
+    public final int height;
+
+    /**
+     * Constructor for the enum representing a vehicle.
+     * @param width The width (pixels) of the vehicle.
+     * @param height The height (pixels) of the vehicle.
+     */
+    Vehicles(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+}
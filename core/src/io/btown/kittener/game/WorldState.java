@@ -0,0 +1,248 @@
+package io.btown.kittener.game;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The state of every agent and hazard of a simulation, kept as parallel arrays of primitives indexed by agent or
+ * hazard, so that the simulation moves them and checks collisions in tight loops over plain arrays. The Agent and
+ * Hazard objects of a simulation are only views of this state, used for rendering and reporting.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class WorldState {
+    /** The number of agents, which may be fewer than the arrays of agents have room for. */
+    int numAgents;
+
+    /** The position (pixels) of the bottom left corner of each agent. */
+    float[] agentX;
+    float[] agentY;
+
+    /** The highest y-coordinate each agent has reached since it last wrapped around the map. */
+    float[] lastY;
+
+    /** How long (seconds) each agent has gone without increasing its score. */
+    float[] stillTimer;
+
+    int[] score;
+
+    /** The last direction each agent moved in. */
+    int[] facing;
+
+    /** The direction each agent last chose, or Agent.UNDECIDED if it has not chosen one since it was reset. */
+    int[] direction;
+
+    boolean[] dead;
+
+    final int numHazards;
+
+    /** The position (pixels) of the bottom left corner of each hazard. */
+    final float[] hazardX;
+    final float[] hazardY;
+
+    /** The size (pixels) of each hazard. */
+    final float[] hazardWidth;
+    final float[] hazardHeight;
+
+    /** The speed (pixels per second) each hazard travels at, negative when travelling left. */
+    final float[] hazardSpeed;
+
+    /** What each hazard is reset to. */
+    private final float[] startX;
+    private final float[] startY;
+    private final float[] startSpeed;
+
+    /**
+     * Constructor for the state of a world with the supplied hazards, as they are now, and no agents.
+     * @param hazards The hazards of the world.
+     */
+    WorldState(List<Hazard> hazards) {
+        numHazards = hazards.size();
+        hazardX = new float[numHazards];
+        hazardY = new float[numHazards];
+        hazardWidth = new float[numHazards];
+        hazardHeight = new float[numHazards];
+        hazardSpeed = new float[numHazards];
+        for(int i = 0; i < numHazards; i++) {
+            Hazard hazard = hazards.get(i);
+            hazardX[i] = hazard.getX();
+            hazardY[i] = hazard.getY();
+            hazardWidth[i] = hazard.getWidth();
+            hazardHeight[i] = hazard.getHeight();
+            hazardSpeed[i] = hazard.getSpeed();
+        }
+        startX = hazardX.clone();
+        startY = hazardY.clone();
+        startSpeed = hazardSpeed.clone();
+
+        agentX = new float[0];
+        agentY = new float[0];
+        lastY = new float[0];
+        stillTimer = new float[0];
+        score = new int[0];
+        facing = new int[0];
+        direction = new int[0];
+        dead = new boolean[0];
+    }
+
+    /**
+     * Adds an agent at the bottom of the map, growing the arrays of agents if they are full.
+     * @param x The x-coordinate (pixels) of the agent.
+     * @return The index of the new agent.
+     */
+    int addAgent(float x) {
+        if(numAgents == agentX.length) {
+            int capacity = Math.max(2 * numAgents, 8);
+            agentX = Arrays.copyOf(agentX, capacity);
+            agentY = Arrays.copyOf(agentY, capacity);
+            lastY = Arrays.copyOf(lastY, capacity);
+            stillTimer = Arrays.copyOf(stillTimer, capacity);
+            score = Arrays.copyOf(score, capacity);
+            facing = Arrays.copyOf(facing, capacity);
+            direction = Arrays.copyOf(direction, capacity);
+            dead = Arrays.copyOf(dead, capacity);
+        }
+        resetAgent(numAgents, x);
+        return numAgents++;
+    }
+
+    /**
+     * Resets an agent back to the bottom of the map, alive and undecided.
+     * @param index The index of the agent.
+     * @param x The x-coordinate (pixels) to reset the agent to.
+     */
+    void resetAgent(int index, float x) {
+        agentX[index] = x;
+        agentY[index] = 0;
+        lastY[index] = 0f;
+        stillTimer[index] = 0f;
+        score[index] = 0;
+        facing[index] = 0;
+        direction[index] = Agent.UNDECIDED;
+        dead[index] = false;
+    }
+
+    /**
+     * Resets every hazard back to its starting position and speed.
+     */
+    void resetHazards() {
+        System.arraycopy(startX, 0, hazardX, 0, numHazards);
+        System.arraycopy(startY, 0, hazardY, 0, numHazards);
+        System.arraycopy(startSpeed, 0, hazardSpeed, 0, numHazards);
+    }
+
+    /**
+     * Returns the number of agents.
+     * @return The number of agents.
+     */
+    public int getNumAgents() {
+        return numAgents;
+    }
+
+    /**
+     * Returns the x-coordinate (pixels) of the center of an agent.
+     * @param index The index of the agent.
+     * @return The x-coordinate of the center of the agent.
+     */
+    public float getAgentCenterX(int index) {
+        return agentX[index] + Agent.WIDTH / 2;
+    }
+
+    /**
+     * Returns the y-coordinate (pixels) of the center of an agent.
+     * @param index The index of the agent.
+     * @return The y-coordinate of the center of the agent.
+     */
+    public float getAgentCenterY(int index) {
+        return agentY[index] + Agent.HEIGHT / 2;
+    }
+
+    /**
+     * Returns the x-coordinate (pixels) of the left edge of an agent.
+     * @param index The index of the agent.
+     * @return The x-coordinate of the left edge of the agent.
+     */
+    public float getAgentX(int index) {
+        return agentX[index];
+    }
+
+    /**
+     * Returns the direction an agent last chose, or Agent.UNDECIDED if it has not chosen one since it was reset.
+     * @param index The index of the agent.
+     * @return The direction the agent last chose.
+     */
+    public int getAgentDirection(int index) {
+        return direction[index];
+    }
+
+    /**
+     * Returns whether an agent is dead.
+     * @param index The index of the agent.
+     * @return True if the agent is dead.
+     */
+    public boolean isAgentDead(int index) {
+        return dead[index];
+    }
+
+    /**
+     * Returns the score of an agent.
+     * @param index The index of the agent.
+     * @return The score of the agent.
+     */
+    public int getAgentScore(int index) {
+        return score[index];
+    }
+
+    /**
+     * Returns the number of hazards.
+     * @return The number of hazards.
+     */
+    public int getNumHazards() {
+        return numHazards;
+    }
+
+    /**
+     * Returns the x-coordinate (pixels) of the left edge of a hazard.
+     * @param index The index of the hazard.
+     * @return The x-coordinate of the left edge of the hazard.
+     */
+    public float getHazardX(int index) {
+        return hazardX[index];
+    }
+
+    /**
+     * Returns the y-coordinate (pixels) of the bottom edge of a hazard.
+     * @param index The index of the hazard.
+     * @return The y-coordinate of the bottom edge of the hazard.
+     */
+    public float getHazardY(int index) {
+        return hazardY[index];
+    }
+
+    /**
+     * Returns the width (pixels) of a hazard.
+     * @param index The index of the hazard.
+     * @return The width of the hazard.
+     */
+    public float getHazardWidth(int index) {
+        return hazardWidth[index];
+    }
+
+    /**
+     * Returns the height (pixels) of a hazard.
+     * @param index The index of the hazard.
+     * @return The height of the hazard.
+     */
+    public float getHazardHeight(int index) {
+        return hazardHeight[index];
+    }
+
+    /**
+     * Returns the speed (pixels per second) a hazard travels at, negative when travelling left.
+     * @param index The index of the hazard.
+     * @return The speed of the hazard.
+     */
+    public float getHazardSpeed(int index) {
+        return hazardSpeed[index];
+    }
+}
@@ -0,0 +1,213 @@
+package io.btown.kittener.server;
+
+import io.btown.kittener.eval.CachingEvaluator;
+import io.btown.kittener.eval.Episode;
+import io.btown.kittener.eval.ParallelEvaluator;
+import io.btown.kittener.neat.Coefficients;
+import io.btown.kittener.neat.EvolutionContext;
+import io.btown.kittener.neat.Population;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A single training run hosted by the TrainingServer. Each experiment owns its EvolutionContext and Population, so it
+ * is independent of every other experiment, but evaluates its episodes on the pool shared by all of them. The server
+ * runs at most one generation of an experiment at a time, so the population itself is never touched concurrently;
+ * the statistics are volatile so they can be read while a generation is running.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class Experiment {
+    /** The number of genomes whose fitness is remembered between generations. */
+    private static final int CACHE_CAPACITY = 10000;
+
+    /** The number of generations whose speciation report is kept. */
+    private static final int LOG_CAPACITY = 20;
+
+    /** The states an experiment goes through. */
+    public enum Status { QUEUED, RUNNING, FINISHED, CANCELLED, FAILED }
+
+    private final int id;
+    private final ExperimentDefinition definition;
+    private final Population population;
+    private final ParallelEvaluator parallelEvaluator;
+    private final CachingEvaluator evaluator;
+
+    /** The state of this experiment. Guarded by the server. */
+    private Status status;
+
+    /** Whether a generation of this experiment is currently running. Guarded by the server. */
+    private boolean running;
+
+    /** Time (nanoseconds) spent running this experiment's generations. Guarded by the server. */
+    private long usedNanos;
+
+    /** The virtual time this experiment started at. Guarded by the server. */
+    private double startTime;
+
+    private volatile int generation;
+    private volatile double bestScore;
+    private volatile double lastBestScore;
+    private volatile double lastGenerationMillis;
+    private volatile double lastUtilization;
+    private volatile int lastCacheHits;
+    private volatile String error;
+
+    /** The speciation reports of the last few generations, oldest first. */
+    private final Deque<String> log;
+
+    /**
+     * Constructor for an experiment.
+     * @param id The id the server knows this experiment by.
+     * @param definition What to train.
+     * @param pool The pool shared by every experiment's episodes.
+     */
+    Experiment(int id, ExperimentDefinition definition, ForkJoinPool pool) {
+        this.id         = id;
+        this.definition = definition;
+
+        EvolutionContext context = new EvolutionContext(definition.seed);
+        definition.coefficients.forEach(context::set);
+        // The threshold starts at COMPAT_THRESH, so it has to follow an override of it.
+        context.setCompatThreshold(context.get(Coefficients.COMPAT_THRESH));
+        context.setParentSelector(definition.createParentSelector());
+        context.setSinglePrecision(definition.singlePrecision);
+        population = new Population(context, definition.numAgents, Episode.getNumInputs(definition.createSensors()),
+                Episode.getNumOutputs(), true);
+        log = new ArrayDeque<>();
+        population.setLog(this::addToLog);
+        parallelEvaluator = new ParallelEvaluator(pool, definition.episodesPerTask, definition.decisionInterval,
+                definition.createSensors());
+        evaluator = new CachingEvaluator(parallelEvaluator, CACHE_CAPACITY);
+        status = Status.QUEUED;
+    }
+
+    /**
+     * Evaluates and evolves the population for a single generation.
+     */
+    void runGeneration() {
+        long start = System.nanoTime();
+        double[] fitness = evaluator.evaluate(population.getNetworks());
+
+        double best = 0;
+        for(int index = 0; index < fitness.length; index++) {
+            population.assignFitness(index, fitness[index]);
+            best = Math.max(best, fitness[index]);
+        }
+        population.naturalSelection();
+        population.incrementGeneration();
+
+        lastBestScore = best;
+        bestScore = Math.max(bestScore, best);
+        lastCacheHits = evaluator.getLastHits();
+        lastUtilization = parallelEvaluator.getUtilization();
+        lastGenerationMillis = (System.nanoTime() - start) / 1e6;
+        generation++;
+    }
+
+    /**
+     * Keeps a generation's speciation report, forgetting the oldest one once LOG_CAPACITY are kept.
+     */
+    private void addToLog(String report) {
+        synchronized(log) {
+            if(log.size() == LOG_CAPACITY) {
+                log.removeFirst();
+            }
+            log.addLast(report);
+        }
+    }
+
+    /**
+     * Returns the speciation reports of the last few generations of this experiment, oldest first.
+     * @return The recent speciation reports, one after the other.
+     */
+    String getLog() {
+        synchronized(log) {
+            return String.join("", log);
+        }
+    }
+
+    /**
+     * Returns true if this experiment has generations left to run and has not been stopped.
+     */
+    boolean isRunnable() {
+        return (status == Status.QUEUED || status == Status.RUNNING) && generation < definition.numGenerations;
+    }
+
+    /**
+     * Returns the time this experiment has been given, scaled by its weight. The scheduler runs the runnable
+     * experiment with the least virtual time next.
+     */
+    double getVirtualTime() {
+        return startTime + usedNanos / definition.weight;
+    }
+
+    /**
+     * Starts this experiment on the supplied virtual time, so that an experiment submitted late does not monopolise
+     * the machine until it has caught up with the ones that were already running.
+     */
+    void startAt(double virtualTime) {
+        startTime = virtualTime;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    void setRunning(boolean running) {
+        this.running = running;
+        if(running) {
+            status = Status.RUNNING;
+        } else if(status == Status.RUNNING && generation >= definition.numGenerations) {
+            status = Status.FINISHED;
+        }
+    }
+
+    void addUsedNanos(long nanos) {
+        usedNanos += nanos;
+    }
+
+    void cancel() {
+        if(isRunnable()) {
+            status = Status.CANCELLED;
+        }
+    }
+
+    void fail(Throwable cause) {
+        status = Status.FAILED;
+        error = String.valueOf(cause);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ExperimentDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Returns a JSON object describing this experiment and how far it has got. Must be called holding the server's
+     * lock.
+     * @return A JSON object describing this experiment.
+     */
+    String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT, "{\"id\":%d,\"name\":\"%s\",\"status\":\"%s\",\"generation\":%d,"
+                        + "\"generations\":%d,\"agents\":%d,\"seed\":%d,\"weight\":%s,\"selection\":\"%s\","
+                        + "\"precision\":\"%s\",\"decisionInterval\":%d,\"sensors\":\"%s\",\"bestScore\":%.0f,"
+                        + "\"lastBestScore\":%.0f,\"lastGenerationMillis\":%.1f,\"lastUtilization\":%.3f,"
+                        + "\"lastCacheHits\":%d,\"cpuSeconds\":%.3f",
+                id, definition.name, status, generation, definition.numGenerations, definition.numAgents,
+                definition.seed, definition.weight, definition.selection,
+                definition.singlePrecision ? "float" : "double", definition.decisionInterval, definition.sensors,
+                bestScore, lastBestScore, lastGenerationMillis, lastUtilization, lastCacheHits, usedNanos / 1e9));
+        if(error != null) {
+            json.append(",\"error\":\"").append(error.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return json.append('}').toString();
+    }
+}
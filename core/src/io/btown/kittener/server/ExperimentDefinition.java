@@ -0,0 +1,229 @@
+package io.btown.kittener.server;
+
+import io.btown.kittener.eval.ParallelEvaluator;
+import io.btown.kittener.game.Sensor;
+import io.btown.kittener.game.Simulation;
+import io.btown.kittener.neat.Coefficients;
+import io.btown.kittener.neat.ParentSelector;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Everything needed to start an experiment: its size and length, the environment it is trained on, the seed of its
+ * EvolutionContext and any coefficients that differ from the defaults. Definitions are read from form-encoded
+ * parameters, e.g.
+ * {@code name=sweep-1&agents=200&generations=50&seed=7&selection=rank&precision=float&ADD_NODE_MUT=0.1}.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class ExperimentDefinition {
+    /** The only environment there is to train on so far: headless episodes of Kittener. */
+    public static final String KITTENER = "kittener";
+
+    /** A name for the experiment, made only of letters, digits, '.', '_' and '-'. */
+    public final String name;
+
+    /** The number of organisms in the population. */
+    public final int numAgents;
+
+    /** The number of generations to train for. */
+    public final int numGenerations;
+
+    /** The environment the population is trained on. */
+    public final String environment;
+
+    /** The seed of the experiment's EvolutionContext. */
+    public final long seed;
+
+    /** The number of networks played together in a single task on the shared pool, ParallelEvaluator's default
+     *  unless asked otherwise. */
+    public final int episodesPerTask;
+
+    /** This experiment's share of the machine relative to the others. An experiment with a weight of 2 is given
+     *  twice the time of one with a weight of 1. */
+    public final double weight;
+
+    /** How parents are chosen: uniform, proportionate, rank or tournament. */
+    public final String selection;
+
+    /** The number of entrants in each tournament, when parents are chosen by tournament. */
+    public final int tournamentSize;
+
+    /** Whether networks are evaluated with floats instead of doubles, i.e. {@code precision=float}. */
+    public final boolean singlePrecision;
+
+    /** The number of steps between an agent's decisions in each episode. */
+    public final int decisionInterval;
+
+    /**
+     * What agents sense: hazards, the distance to every hazard, lanes, the lanes around them, rays, rays cast over the
+     * occupied tiles, or window, the occupied tiles around them.
+     */
+    public final String sensors;
+
+    /** Coefficients that differ from their defaults. */
+    public final Map<Coefficients, Double> coefficients;
+
+    private ExperimentDefinition(String name, int numAgents, int numGenerations, String environment, long seed,
+                                 int episodesPerTask, double weight, String selection, int tournamentSize,
+                                 boolean singlePrecision, int decisionInterval, String sensors,
+                                 Map<Coefficients, Double> coefficients) {
+        this.name             = name;
+        this.numAgents        = numAgents;
+        this.numGenerations   = numGenerations;
+        this.environment      = environment;
+        this.seed             = seed;
+        this.episodesPerTask  = episodesPerTask;
+        this.weight           = weight;
+        this.selection        = selection;
+        this.tournamentSize   = tournamentSize;
+        this.singlePrecision  = singlePrecision;
+        this.decisionInterval = decisionInterval;
+        this.sensors          = sensors;
+        this.coefficients     = Collections.unmodifiableMap(coefficients);
+    }
+
+    /**
+     * Reads a definition from form-encoded parameters. Anything left out takes its default.
+     * @param parameters The form-encoded parameters, possibly empty.
+     * @param defaultName The name to use if none is given.
+     * @return The definition.
+     * @throws IllegalArgumentException If a parameter is unknown or its value is invalid.
+     */
+    public static ExperimentDefinition parse(String parameters, String defaultName) {
+        String name = defaultName;
+        int numAgents = 100;
+        int numGenerations = 100;
+        String environment = KITTENER;
+        long seed = System.nanoTime();
+        int episodesPerTask = ParallelEvaluator.DEFAULT_EPISODES_PER_TASK;
+        double weight = 1;
+        String selection = "uniform";
+        int tournamentSize = 3;
+        String precision = "double";
+        int decisionInterval = Simulation.DEFAULT_DECISION_INTERVAL;
+        String sensors = "hazards";
+        Map<Coefficients, Double> coefficients = new EnumMap<>(Coefficients.class);
+
+        for(String pair : parameters.split("&")) {
+            if(pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String key = decode(equals == -1 ? pair : pair.substring(0, equals));
+            String value = decode(equals == -1 ? "" : pair.substring(equals + 1));
+            try {
+                switch(key) {
+                    case "name":
+                        name = value;
+                        break;
+                    case "agents":
+                        numAgents = Integer.parseInt(value);
+                        break;
+                    case "generations":
+                        numGenerations = Integer.parseInt(value);
+                        break;
+                    case "environment":
+                        environment = value;
+                        break;
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "episodesPerTask":
+                        episodesPerTask = Integer.parseInt(value);
+                        break;
+                    case "weight":
+                        weight = Double.parseDouble(value);
+                        break;
+                    case "selection":
+                        selection = value;
+                        break;
+                    case "tournamentSize":
+                        tournamentSize = Integer.parseInt(value);
+                        break;
+                    case "precision":
+                        precision = value;
+                        break;
+                    case "decisionInterval":
+                        decisionInterval = Integer.parseInt(value);
+                        break;
+                    case "sensors":
+                        sensors = value;
+                        break;
+                    default:
+                        coefficients.put(Coefficients.valueOf(key), Double.parseDouble(value));
+                }
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+            } catch(IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown parameter: " + key);
+            }
+        }
+
+        if(coefficients.containsKey(Coefficients.BIAS_NODE_LINK_WEIGHT)) {
+            throw new IllegalArgumentException(Coefficients.BIAS_NODE_LINK_WEIGHT + " can not be overridden.");
+        }
+        if(!name.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Names may only contain letters, digits, '.', '_' and '-'.");
+        }
+        if(numAgents < 2 || numGenerations < 1 || episodesPerTask < 1 || tournamentSize < 1 || decisionInterval < 1
+                || !(weight > 0)) {
+            throw new IllegalArgumentException("agents must be at least 2, generations, episodesPerTask, "
+                    + "tournamentSize and decisionInterval at least 1 and weight above 0.");
+        }
+        if(!Arrays.asList("uniform", "proportionate", "rank", "tournament").contains(selection)) {
+            throw new IllegalArgumentException("Unknown selection: " + selection);
+        }
+        if(!precision.equals("double") && !precision.equals("float")) {
+            throw new IllegalArgumentException("Unknown precision: " + precision);
+        }
+        // Throws for sensors it does not know.
+        Simulation.sensorsNamed(sensors);
+        if(!environment.equals(KITTENER)) {
+            throw new IllegalArgumentException("Unknown environment: " + environment);
+        }
+
+        return new ExperimentDefinition(name, numAgents, numGenerations, environment, seed, episodesPerTask, weight,
+                selection, tournamentSize, precision.equals("float"), decisionInterval, sensors,
+                coefficients);
+    }
+
+    /**
+     * Returns a new selector that chooses parents the way this definition asks for.
+     * @return A new parent selector.
+     */
+    public ParentSelector createParentSelector() {
+        switch(selection) {
+            case "proportionate":
+                return ParentSelector.fitnessProportionate();
+            case "rank":
+                return ParentSelector.rank();
+            case "tournament":
+                return ParentSelector.tournament(tournamentSize);
+            default:
+                return ParentSelector.uniform();
+        }
+    }
+
+    /**
+     * Returns new sensors that sense what this definition asks for.
+     * @return New sensors for the agents of this experiment.
+     */
+    public Sensor[] createSensors() {
+        return Simulation.sensorsNamed(sensors);
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch(UnsupportedEncodingException e) {
+            // Every JVM supports UTF-8.
+            throw new IllegalStateException(e);
+        }
+    }
+}
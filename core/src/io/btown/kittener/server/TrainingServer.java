@@ -0,0 +1,314 @@
+package io.btown.kittener.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A long-running training service that hosts many experiments in one JVM, so a sweep does not pay for JVM start up
+ * and JIT warm up on every run. Experiments are scheduled a generation at a time onto a fixed number of slots: when
+ * a slot frees up it runs the next generation of the runnable experiment that has had the least time so far, scaled by
+ * its weight, which shares the machine fairly between experiments however long their generations are. The episodes of
+ * every running generation are played on a single shared work-stealing pool.
+ * <p>
+ * Experiments are managed over HTTP on the loopback interface:
+ * <ul>
+ *     <li>GET /experiments lists every experiment.</li>
+ *     <li>POST /experiments starts one from the form-encoded ExperimentDefinition in the body.</li>
+ *     <li>GET /experiments/{id} describes one experiment.</li>
+ *     <li>GET /experiments/{id}/log returns the speciation reports of its last few generations as plain text.</li>
+ *     <li>DELETE /experiments/{id} cancels one after its current generation.</li>
+ *     <li>GET /stats describes the server itself.</li>
+ * </ul>
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class TrainingServer implements Closeable {
+    /** The port the server listens on if none is given. */
+    private static final int DEFAULT_PORT = 8089;
+
+    /** The pool every experiment plays its episodes on. */
+    private final ForkJoinPool pool;
+
+    /** Runs generations, one per slot at a time. */
+    private final ExecutorService slots;
+
+    /** The number of generations that may run at once. */
+    private final int numSlots;
+
+    private final HttpServer http;
+
+    /** Every experiment ever submitted, by id. Guarded by this. */
+    private final Map<Integer, Experiment> experiments;
+
+    /** The id the next experiment is given. Guarded by this. */
+    private int nextId;
+
+    /** The number of generations currently running. Guarded by this. */
+    private int numRunning;
+
+    /**
+     * Constructor for a training server. The server starts listening immediately.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param threads The number of threads episodes are played on.
+     * @param numSlots The number of generations that may run at once. Generations spend most of their time waiting
+     *                 on the pool, but selection and reproduction run on the slot itself, so more slots than threads
+     *                 keeps the pool busy in between.
+     * @throws IOException If the server could not listen on the port.
+     */
+    public TrainingServer(int port, int threads, int numSlots) throws IOException {
+        this.pool        = new ForkJoinPool(threads);
+        this.slots       = Executors.newFixedThreadPool(numSlots);
+        this.numSlots    = numSlots;
+        this.experiments = new LinkedHashMap<>();
+        this.nextId      = 1;
+        this.numRunning  = 0;
+
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/experiments", this::handleExperiments);
+        http.createContext("/stats", this::handleStats);
+        http.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     * @return The port the server is listening on.
+     */
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    /**
+     * Starts a new experiment. It is given as much time as the experiment that has had the least so far, rather than
+     * none, so it takes its fair share from now on instead of catching up on everything it missed.
+     * @param definition What to train.
+     * @return The new experiment.
+     */
+    public synchronized Experiment submit(ExperimentDefinition definition) {
+        double virtualTime = Double.MAX_VALUE;
+        for(Experiment experiment : experiments.values()) {
+            if(experiment.isRunnable()) {
+                virtualTime = Math.min(virtualTime, experiment.getVirtualTime());
+            }
+        }
+
+        Experiment experiment = new Experiment(nextId++, definition, pool);
+        experiment.startAt(virtualTime == Double.MAX_VALUE ? 0 : virtualTime);
+        experiments.put(experiment.getId(), experiment);
+        dispatch();
+        return experiment;
+    }
+
+    /**
+     * Cancels an experiment. A generation that is already running is finished first.
+     * @param id The id of the experiment.
+     * @return False if there is no such experiment.
+     */
+    public synchronized boolean cancel(int id) {
+        Experiment experiment = experiments.get(id);
+        if(experiment == null) {
+            return false;
+        }
+        experiment.cancel();
+        return true;
+    }
+
+    /**
+     * Fills every free slot with the next generation of the runnable experiment that is furthest behind its share.
+     */
+    private synchronized void dispatch() {
+        while(numRunning < numSlots) {
+            Experiment next = null;
+            for(Experiment experiment : experiments.values()) {
+                if(experiment.isRunnable() && !experiment.isRunning()
+                        && (next == null || experiment.getVirtualTime() < next.getVirtualTime())) {
+                    next = experiment;
+                }
+            }
+            if(next == null) {
+                return;
+            }
+
+            Experiment chosen = next;
+            chosen.setRunning(true);
+            numRunning++;
+            slots.execute(() -> runGeneration(chosen));
+        }
+    }
+
+    /**
+     * Runs a single generation of an experiment on a slot, then hands the slot to whichever experiment is next.
+     */
+    private void runGeneration(Experiment experiment) {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            experiment.runGeneration();
+        } catch(RuntimeException | Error e) {
+            failure = e;
+        }
+
+        synchronized(this) {
+            experiment.addUsedNanos(System.nanoTime() - start);
+            experiment.setRunning(false);
+            if(failure != null) {
+                experiment.fail(failure);
+            }
+            numRunning--;
+            dispatch();
+        }
+    }
+
+    private void handleExperiments(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if(path.equals("/experiments") || path.equals("/experiments/")) {
+                if(method.equals("GET")) {
+                    respond(exchange, 200, listExperiments());
+                } else if(method.equals("POST")) {
+                    String query = exchange.getRequestURI().getRawQuery();
+                    String body = readBody(exchange);
+                    String parameters = query == null ? body : query + "&" + body;
+                    ExperimentDefinition definition;
+                    synchronized(this) {
+                        definition = ExperimentDefinition.parse(parameters, "experiment-" + nextId);
+                    }
+                    Experiment experiment = submit(definition);
+                    respond(exchange, 201, describe(experiment));
+                } else {
+                    respond(exchange, 405, error("Use GET or POST."));
+                }
+                return;
+            }
+
+            String[] parts = path.substring("/experiments/".length()).split("/", -1);
+            boolean wantsLog = parts.length == 2 && parts[1].equals("log");
+            Experiment experiment;
+            try {
+                if(parts.length > 1 && !wantsLog) {
+                    throw new NumberFormatException();
+                }
+                int id = Integer.parseInt(parts[0]);
+                synchronized(this) {
+                    experiment = experiments.get(id);
+                }
+            } catch(NumberFormatException e) {
+                experiment = null;
+            }
+            if(experiment == null) {
+                respond(exchange, 404, error("No such experiment."));
+            } else if(wantsLog) {
+                if(method.equals("GET")) {
+                    respond(exchange, 200, "text/plain", experiment.getLog());
+                } else {
+                    respond(exchange, 405, error("Use GET."));
+                }
+            } else if(method.equals("GET")) {
+                respond(exchange, 200, describe(experiment));
+            } else if(method.equals("DELETE")) {
+                cancel(experiment.getId());
+                respond(exchange, 200, describe(experiment));
+            } else {
+                respond(exchange, 405, error("Use GET or DELETE."));
+            }
+        } catch(IllegalArgumentException e) {
+            respond(exchange, 400, error(e.getMessage()));
+        } catch(RuntimeException e) {
+            // Anything else is a bug rather than a bad request, but the client still deserves an answer.
+            e.printStackTrace();
+            respond(exchange, 500, error("Internal error: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        int numExperiments;
+        int numRunnable = 0;
+        int running;
+        synchronized(this) {
+            numExperiments = experiments.size();
+            for(Experiment experiment : experiments.values()) {
+                if(experiment.isRunnable()) numRunnable++;
+            }
+            running = numRunning;
+        }
+        respond(exchange, 200, String.format(Locale.ROOT, "{\"threads\":%d,\"slots\":%d,\"running\":%d,"
+                        + "\"runnable\":%d,\"experiments\":%d,\"activeThreads\":%d,\"steals\":%d}",
+                pool.getParallelism(), numSlots, running, numRunnable, numExperiments, pool.getActiveThreadCount(),
+                pool.getStealCount()));
+    }
+
+    private synchronized String listExperiments() {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        experiments.values().forEach(experiment -> json.add(experiment.toJson()));
+        return json.toString();
+    }
+
+    private synchronized String describe(Experiment experiment) {
+        return experiment.toJson();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try(InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8).trim();
+    }
+
+    private static void respond(HttpExchange exchange, int code, String json) throws IOException {
+        respond(exchange, code, "application/json", json + "\n");
+    }
+
+    private static void respond(HttpExchange exchange, int code, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, bytes.length);
+        try(OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Stops listening and abandons every experiment. Generations that are running are interrupted.
+     */
+    @Override
+    public void close() {
+        http.stop(0);
+        slots.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Driver for the training server. Runs until the JVM is stopped.
+     * @param args The port to listen on, the number of threads episodes are played on and the number of generations
+     *             that may run at once.
+     * @throws IOException If the server could not listen on the port.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int numSlots = args.length > 2 ? Integer.parseInt(args[2]) : threads;
+
+        TrainingServer server = new TrainingServer(port, threads, numSlots);
+        System.out.println("Training server listening on http://localhost:" + server.getPort());
+    }
+}
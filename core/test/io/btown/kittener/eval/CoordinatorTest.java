@@ -0,0 +1,142 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.neat.EvolutionContext;
+import io.btown.kittener.neat.Network;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a Coordinator hands the batches of a worker that fails to another worker, so every evaluation still
+ * returns the fitness of every network.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class CoordinatorTest {
+    /** How long (seconds) an evaluation may take before the test gives up on it. */
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the supplied number of networks with different weights.
+     */
+    private static List<Network> networks(int count) {
+        EvolutionContext context = new EvolutionContext(7);
+        List<Network> networks = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            Network network = new Network(context, Episode.getNumInputs(), Episode.getNumOutputs());
+            network.mutate();
+            networks.add(network);
+        }
+        return networks;
+    }
+
+    private static void awaitWorkers(Coordinator coordinator, int numWorkers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while(coordinator.getNumWorkers() < numWorkers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void killedWorkersBatchesAreEvaluatedByAnother() throws Exception {
+        List<Network> networks = networks(400);
+        double[] expected = Episode.evaluate(networks);
+
+        try(Coordinator coordinator = new Coordinator(0, 10, 2);
+            LocalWorkers first = new LocalWorkers(1, coordinator.getPort())) {
+            awaitWorkers(coordinator, 1);
+            Future<double[]> fitness = executor.submit(() -> coordinator.evaluate(networks));
+
+            // The only worker is killed while it holds a batch, so that batch can only come back from the next one.
+            while(coordinator.getNumInFlight() == 0) {
+                assertFalse(fitness.isDone());
+                Thread.sleep(1);
+            }
+            first.kill(0);
+
+            try(LocalWorkers second = new LocalWorkers(1, coordinator.getPort())) {
+                assertArrayEquals(expected, fitness.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), 0);
+            }
+        }
+    }
+
+    /**
+     * Connects a worker that answers its first batch with the supplied count followed by the supplied number of
+     * results, checks that it is dropped at once and that another worker still evaluates every network.
+     */
+    private void checkMisbehavingWorkerIsReplaced(int count, int numResults) throws Exception {
+        List<Network> networks = networks(20);
+        double[] expected = Episode.evaluate(networks);
+
+        try(Coordinator coordinator = new Coordinator(0, 5, 1)) {
+            Future<double[]> fitness = executor.submit(() -> coordinator.evaluate(networks));
+
+            try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), coordinator.getPort())) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out.writeByte(Protocol.HELLO);
+                out.writeInt(Protocol.VERSION);
+                out.flush();
+
+                if(in.readByte() != Protocol.BATCH) {
+                    throw new IOException("Expected a batch.");
+                }
+                int id = in.readInt();
+                in.readFully(new byte[in.readInt()]);
+                out.writeByte(Protocol.RESULT);
+                out.writeInt(id);
+                out.writeInt(count);
+                for(int i = 0; i < numResults; i++) {
+                    out.writeDouble(0);
+                }
+                out.flush();
+
+                // The coordinator hangs up right away, rather than only once the worker times out.
+                long start = System.currentTimeMillis();
+                while(in.read() != -1) {
+                    continue;
+                }
+                assertTrue(System.currentTimeMillis() - start < Protocol.TIMEOUT_MILLIS / 2);
+            }
+
+            try(LocalWorkers workers = new LocalWorkers(1, coordinator.getPort())) {
+                assertArrayEquals(expected, fitness.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), 0);
+            }
+        }
+    }
+
+    @Test
+    public void batchWithWrongNumberOfResultsIsEvaluatedByAnother() throws Exception {
+        checkMisbehavingWorkerIsReplaced(1, 1);
+    }
+
+    @Test
+    public void negativeResultCountIsRejected() throws Exception {
+        checkMisbehavingWorkerIsReplaced(-1, 0);
+    }
+
+    @Test
+    public void resultCountLargerThanAnyBatchIsRejected() throws Exception {
+        checkMisbehavingWorkerIsReplaced(Integer.MAX_VALUE, 0);
+    }
+}
@@ -0,0 +1,104 @@
+package io.btown.kittener.eval;
+
+import io.btown.kittener.neat.Coefficients;
+import io.btown.kittener.neat.EvolutionContext;
+import io.btown.kittener.neat.Network;
+import io.btown.kittener.neat.Population;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a ParallelEvaluator with the default number of episodes per task feeds networks that share a topology
+ * forward as a batch, and that neither batching nor the order networks are played in changes any network's fitness.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class ParallelEvaluatorTest {
+    /** The number of agents a headless training plays by default. */
+    private static final int NUM_AGENTS = 100;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @After
+    public void shutDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Returns the fitness each network earns playing an episode on its own.
+     */
+    private static double[] playedAlone(List<Network> networks) {
+        double[] fitness = new double[networks.size()];
+        for(int i = 0; i < fitness.length; i++) {
+            fitness[i] = Episode.evaluate(Collections.singletonList(networks.get(i)))[0];
+        }
+        return fitness;
+    }
+
+    @Test
+    public void defaultTasksBatchNetworksSharingATopology() {
+        Population population = new Population(new EvolutionContext(11), NUM_AGENTS, Episode.getNumInputs(),
+                Episode.getNumOutputs(), true);
+        ParallelEvaluator evaluator = new ParallelEvaluator(pool, ParallelEvaluator.DEFAULT_EPISODES_PER_TASK);
+
+        // Every network of a first generation has the same topology, so every one of them is batched.
+        double[] fitness = evaluator.evaluate(population.getNetworks());
+        assertEquals(1, evaluator.getBatchedFraction(), 0);
+        assertArrayEquals(playedAlone(population.getNetworks()), fitness, 0);
+
+        // Offspring often keep their parents' topology, and networks sharing one are played in the same tasks.
+        for(int generation = 0; generation < 3; generation++) {
+            for(int i = 0; i < fitness.length; i++) {
+                population.assignFitness(i, fitness[i]);
+            }
+            population.naturalSelection();
+            population.incrementGeneration();
+            fitness = evaluator.evaluate(population.getNetworks());
+            assertArrayEquals(playedAlone(population.getNetworks()), fitness, 0);
+        }
+        assertTrue("only " + evaluator.getBatchedFraction() + " were batched", evaluator.getBatchedFraction() >= 0.5);
+    }
+
+    @Test
+    public void networksSharingATopologyArePlayedTogether() {
+        EvolutionContext context = new EvolutionContext(13);
+        context.set(Coefficients.ADD_NODE_MUT, 1);
+        Network grown = new Network(context, Episode.getNumInputs(), Episode.getNumOutputs());
+        grown.mutate();
+
+        // Two topologies taking turns, so no task of the supplied order holds enough of either to batch them.
+        List<Network> networks = new ArrayList<>();
+        for(int i = 0; i < NUM_AGENTS / 2; i++) {
+            networks.add(new Network(context, Episode.getNumInputs(), Episode.getNumOutputs()));
+            networks.add(new Network(grown));
+        }
+        context.set(Coefficients.ADD_NODE_MUT, 0);
+        context.set(Coefficients.ADD_LINK_MUT, 0);
+        context.set(Coefficients.TOGGLE_LINK_MUT, 0);
+        for(Network network : networks) {
+            network.mutate();
+        }
+
+        ParallelEvaluator evaluator = new ParallelEvaluator(pool, ParallelEvaluator.DEFAULT_EPISODES_PER_TASK);
+        assertArrayEquals(playedAlone(networks), evaluator.evaluate(networks), 0);
+        assertEquals(1, evaluator.getBatchedFraction(), 0);
+    }
+
+    @Test
+    public void singleEpisodeTasksBatchNothing() {
+        Population population = new Population(new EvolutionContext(12), NUM_AGENTS, Episode.getNumInputs(),
+                Episode.getNumOutputs(), true);
+        ParallelEvaluator evaluator = new ParallelEvaluator(pool, 1);
+        assertArrayEquals(playedAlone(population.getNetworks()), evaluator.evaluate(population.getNetworks()), 0);
+        assertEquals(0, evaluator.getBatchedFraction(), 0);
+    }
+}
@@ -0,0 +1,63 @@
+package io.btown.kittener.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that Lanes groups every hazard on the map by the lane it drives in and leaves out hazards outside the map.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class LanesTest {
+    /** A map four lanes high. */
+    private static final int HEIGHT = 4 * Simulation.TILE_SIZE;
+
+    private static List<Integer> hazardsIn(Lanes lanes, int lane) {
+        List<Integer> hazards = new ArrayList<>();
+        for(int i = lanes.getStart(lane); i < lanes.getEnd(lane); i++) {
+            hazards.add(lanes.getHazard(i));
+        }
+        return hazards;
+    }
+
+    @Test
+    public void groupsHazardsByLane() {
+        int tile = Simulation.TILE_SIZE;
+        WorldState world = new WorldState(Arrays.asList(
+                new Hazard(Vehicles.BUS, 0, 2 * tile, 10),
+                new Hazard(Vehicles.YELLOW_CAR, 50, 0, -20),
+                new Hazard(Vehicles.RACE_CAR, 100, 2 * tile, 10),
+                new Hazard(Vehicles.YELLOW_CAR, 10, 3 * tile + tile / 2, 5)));
+        Lanes lanes = new Lanes(world, HEIGHT);
+
+        assertEquals(4, lanes.getNumLanes());
+        assertEquals(Arrays.asList(1), hazardsIn(lanes, 0));
+        assertEquals(Arrays.asList(), hazardsIn(lanes, 1));
+        assertEquals(Arrays.asList(0, 2), hazardsIn(lanes, 2));
+        assertEquals(Arrays.asList(3), hazardsIn(lanes, 3));
+    }
+
+    @Test
+    public void hazardsOutsideTheMapAreInNoLane() {
+        int tile = Simulation.TILE_SIZE;
+        WorldState world = new WorldState(Arrays.asList(
+                new Hazard(Vehicles.BUS, 0, -tile, 10),
+                new Hazard(Vehicles.YELLOW_CAR, 0, tile, 10),
+                new Hazard(Vehicles.RACE_CAR, 0, HEIGHT, 10),
+                new Hazard(Vehicles.YELLOW_CAR, 0, -1, 10),
+                new Hazard(Vehicles.BUS, 0, 10 * HEIGHT, 10)));
+        Lanes lanes = new Lanes(world, HEIGHT);
+
+        assertEquals(Arrays.asList(1), hazardsIn(lanes, 1));
+        int grouped = 0;
+        for(int lane = 0; lane < lanes.getNumLanes(); lane++) {
+            grouped += hazardsIn(lanes, lane).size();
+        }
+        assertEquals(1, grouped);
+    }
+}
@@ -0,0 +1,68 @@
+package io.btown.kittener.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a simulation only touches its agent and hazard views when asked to, and that they then match its world
+ * state, and that the game window's agents sense the same number of features however many hazards there are.
+ * @author Brandon Townsend
+ * @version 19 October 2026
+ */
+public class SimulationTest {
+    private static void assertViewsMatch(Simulation simulation) {
+        WorldState world = simulation.getWorld();
+        for(int i = 0; i < world.getNumHazards(); i++) {
+            assertEquals(world.getHazardX(i), simulation.getHazards().get(i).x, 0);
+            assertEquals(world.getHazardY(i), simulation.getHazards().get(i).y, 0);
+        }
+        for(int i = 0; i < world.getNumAgents(); i++) {
+            Agent agent = simulation.getAgents().get(i);
+            assertEquals(world.getAgentX(i), agent.x, 0);
+            assertEquals(world.getAgentScore(i), agent.getScore());
+            assertEquals(world.isAgentDead(i), agent.isDead());
+        }
+    }
+
+    @Test
+    public void viewsOnlyChangeWhenUpdated() {
+        Simulation simulation = new Simulation(Simulation.DEFAULT_WIDTH, Simulation.DEFAULT_HEIGHT);
+        for(int i = 0; i < 6; i++) {
+            simulation.spawnAgent(null);
+        }
+        float hazardX = simulation.getHazards().get(0).x;
+
+        // Agents alternate between moving up and right, so some of them score before they die.
+        AgentController controller = (index, vision) -> index % 2 == 0 ? 0 : 3;
+        for(int step = 0; step < 120; step++) {
+            simulation.update(1 / 60f, controller);
+        }
+        assertTrue(simulation.getWorld().getHazardX(0) != hazardX);
+        assertEquals(hazardX, simulation.getHazards().get(0).x, 0);
+        assertEquals(0, simulation.getAgents().get(0).getScore());
+
+        simulation.updateViews();
+        assertTrue(simulation.getAgents().get(0).getScore() > 0);
+        assertViewsMatch(simulation);
+
+        simulation.reset();
+        simulation.updateViews();
+        assertViewsMatch(simulation);
+    }
+
+    @Test
+    public void gameWindowVisionDoesNotDependOnTheHazards() {
+        Simulation simulation = new Simulation(Simulation.DEFAULT_WIDTH, Simulation.DEFAULT_HEIGHT);
+        assertEquals(simulation.getWorld().getNumHazards(), simulation.getVisionSize());
+
+        simulation.setSensors(new MainGame(Simulation.DEFAULT_WIDTH, Simulation.DEFAULT_HEIGHT).getSensors());
+        assertEquals(4 * LaneSensor.FEATURES_PER_LANE, simulation.getVisionSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownSensorsAreRejected() {
+        Simulation.sensorsNamed("cameras");
+    }
+}
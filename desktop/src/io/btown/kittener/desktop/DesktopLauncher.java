@@ -7,6 +7,8 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.badlogic.gdx.graphics.Color;
 import io.btown.kittener.game.MainGame;
+import io.btown.kittener.game.Sensor;
+import io.btown.kittener.game.Simulation;
 
 /**
  * Launches the game of "Kittener", which is based upon the classic arcade game "Frogger".
@@ -25,9 +27,13 @@ public class DesktopLauncher {
 
 	/**
 	 * Driver for our application.
-	 * @param args Arguments for our application (if any).
+	 * @param args Arguments for our application (if any): the number of steps between an agent's decisions and what
+	 *             agents sense (hazards, lanes, rays or window).
 	 */
 	public static void main (String[] args) {
+		int decisionInterval = args.length > 0 ? Integer.parseInt(args[0]) : Simulation.DEFAULT_DECISION_INTERVAL;
+		Sensor[] sensors = Simulation.sensorsNamed(args.length > 1 ? args[1] : "lanes");
+
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.addIcon("core/assets/cat_front.png", Files.FileType.Internal);
 		config.useGL30					= false;
@@ -41,7 +47,7 @@ public class DesktopLauncher {
 		config.x = 0;
 		config.y = 0;
 
-		ApplicationListener game = new MainGame(config.width, config.height);
+		ApplicationListener game = new MainGame(config.width, config.height, decisionInterval, sensors);
 		Application app = new LwjglApplication(game, config);
 	}
 }
@@ -0,0 +1,175 @@
+package io.btown.kittener.neat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks candidates with a chance proportional to a weight, which is either their fitness or their rank. The weights
+ * are turned into a Walker alias table (built with Vose's method) in linear time when the selector is prepared: every
+ * slot of the table holds a candidate, the chance of keeping it and the candidate to take otherwise, so a pick is one
+ * random slot and one coin flip.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+class AliasSelector implements ParentSelector {
+    /** Whether candidates are weighted by their rank rather than their fitness. */
+    private final boolean byRank;
+
+    private List<Network> candidates;
+    private int numCandidates;
+
+    /** The chance of keeping each slot's own candidate. */
+    private double[] keep;
+
+    /** The candidate picked instead when a slot's own candidate is not kept. */
+    private int[] alias;
+
+    /** The weight of each candidate, scaled so they average 1. Only used while building. */
+    private double[] scaled;
+
+    /** Work lists of the slots whose scaled weight is below and at least 1. Only used while building. */
+    private int[] small;
+    private int[] large;
+
+    /** The fitness of every candidate in ascending order. Only used while building a rank table. */
+    private double[] sortedFitness;
+
+    /**
+     * Constructor for an alias selector.
+     * @param byRank Whether candidates are weighted by their rank rather than their fitness.
+     */
+    AliasSelector(boolean byRank) {
+        this.byRank = byRank;
+        keep   = new double[0];
+        alias  = new int[0];
+        scaled = new double[0];
+        small  = new int[0];
+        large  = new int[0];
+        sortedFitness = new double[0];
+    }
+
+    @Override
+    public void prepare(List<Network> candidates) {
+        this.candidates = candidates;
+        numCandidates = candidates.size();
+        ensureCapacity(numCandidates);
+
+        if(byRank) {
+            // A candidate's weight is one more than the number of candidates weaker than it, so the weakest gets a
+            // weight of 1, the fittest a weight of n and equal fitness an equal weight.
+            for(int i = 0; i < numCandidates; i++) {
+                sortedFitness[i] = candidates.get(i).getFitness();
+            }
+            Arrays.sort(sortedFitness, 0, numCandidates);
+            for(int i = 0; i < numCandidates; i++) {
+                scaled[i] = numWeaker(candidates.get(i).getFitness()) + 1;
+            }
+        } else {
+            // Shift the fitness so none is negative.
+            double lowest = 0;
+            for(int i = 0; i < numCandidates; i++) {
+                lowest = Math.min(lowest, candidates.get(i).getFitness());
+            }
+            for(int i = 0; i < numCandidates; i++) {
+                scaled[i] = candidates.get(i).getFitness() - lowest;
+            }
+        }
+
+        build();
+    }
+
+    /**
+     * Returns the number of candidates whose fitness is below the supplied one, by binary search of sortedFitness.
+     */
+    private int numWeaker(double fitness) {
+        int low = 0;
+        int high = numCandidates;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(sortedFitness[middle] < fitness) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Builds the alias table out of the weights in scaled.
+     */
+    private void build() {
+        double sum = 0;
+        for(int i = 0; i < numCandidates; i++) {
+            sum += scaled[i];
+        }
+
+        // With no usable weights every candidate is as good as any other.
+        if(!(sum > 0) || Double.isInfinite(sum)) {
+            for(int i = 0; i < numCandidates; i++) {
+                keep[i] = 1;
+                alias[i] = i;
+            }
+            return;
+        }
+
+        int numSmall = 0;
+        int numLarge = 0;
+        for(int i = 0; i < numCandidates; i++) {
+            scaled[i] = scaled[i] * numCandidates / sum;
+            if(scaled[i] < 1) {
+                small[numSmall++] = i;
+            } else {
+                large[numLarge++] = i;
+            }
+        }
+
+        // Fill each under-full slot with part of an over-full one, which then may become under-full itself.
+        while(numSmall > 0 && numLarge > 0) {
+            int less = small[--numSmall];
+            int more = large[--numLarge];
+            keep[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if(scaled[more] < 1) {
+                small[numSmall++] = more;
+            } else {
+                large[numLarge++] = more;
+            }
+        }
+
+        // Whatever is left is full, up to rounding error.
+        while(numLarge > 0) {
+            int slot = large[--numLarge];
+            keep[slot] = 1;
+            alias[slot] = slot;
+        }
+        while(numSmall > 0) {
+            int slot = small[--numSmall];
+            keep[slot] = 1;
+            alias[slot] = slot;
+        }
+    }
+
+    @Override
+    public Network pick(Random random) {
+        int slot = random.nextInt(numCandidates);
+        return candidates.get(random.nextDouble() < keep[slot] ? slot : alias[slot]);
+    }
+
+    /**
+     * Grows the buffers if they can not hold the supplied number of candidates.
+     */
+    private void ensureCapacity(int capacity) {
+        if(keep.length < capacity) {
+            int length = capacity * 3 / 2;
+            keep   = new double[length];
+            alias  = new int[length];
+            scaled = new double[length];
+            small  = new int[length];
+            large  = new int[length];
+            sortedFitness = new double[length];
+        }
+    }
+}
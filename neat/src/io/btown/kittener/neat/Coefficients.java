@@ -12,6 +12,7 @@ public enum Coefficients {
     ADD_LINK_MUT(.15),      // Chance that a new link will be added.
     ADD_NODE_MUT(.05),      // Chance that a new node will be added.
     TOGGLE_LINK_MUT(.1),    // Chance that a link will be re-enabled.
+    RECURRENT_LINK_MUT(0),  // Chance that a new link will be recurrent. Zero keeps networks feed-forward.
 
     // Other coefficients.
     DISJOINT_CO(1),
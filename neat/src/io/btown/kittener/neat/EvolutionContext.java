@@ -0,0 +1,197 @@
+package io.btown.kittener.neat;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Everything that changes as a population evolves and would otherwise be shared by every population in the JVM: the
+ * innovation registry, the species id counter, the compatibility threshold, the random number generator, the
+ * coefficients and the cache of compiled phenotypes. Each training owns its own context and passes it to its
+ * Population, Species and Networks, so independent trainings can run side by side. Apart from the phenotype cache, a
+ * context is not thread safe; it should only be used by the thread currently evolving its population.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class EvolutionContext {
+    /** The innovation number of every link seen so far, keyed by its (input id, output id) pair. */
+    private final Map<Long, Integer> innovations;
+
+    /** The coefficients used while evolving, which start at the defaults in Coefficients. */
+    private final Map<Coefficients, Double> coefficients;
+
+    private final Random random;
+    private final WeightMutator weightMutator;
+    private final Phenotype.Cache phenotypeCache;
+    private ParentSelector parentSelector;
+    private boolean singlePrecision;
+    private int nextSpeciesId;
+    private double compatThreshold;
+
+    /**
+     * Constructor for a context with a randomly seeded generator.
+     */
+    public EvolutionContext() {
+        this(new Random());
+    }
+
+    /**
+     * Constructor for a context with a seeded generator, so a training can be reproduced.
+     * @param seed The seed of the generator.
+     */
+    public EvolutionContext(long seed) {
+        this(new Random(seed));
+    }
+
+    private EvolutionContext(Random random) {
+        this.random = random;
+        innovations = new HashMap<>();
+        coefficients = new EnumMap<>(Coefficients.class);
+        for(Coefficients coefficient : Coefficients.values()) {
+            coefficients.put(coefficient, coefficient.value);
+        }
+        nextSpeciesId = 1;
+        compatThreshold = get(Coefficients.COMPAT_THRESH);
+        weightMutator = new WeightMutator(this);
+        phenotypeCache = new Phenotype.Cache();
+        parentSelector = ParentSelector.uniform();
+    }
+
+    /**
+     * Returns the value of the supplied coefficient in this context. BIAS_NODE_LINK_WEIGHT is part of how a network
+     * is evaluated rather than evolved, so it always keeps its default.
+     * @param coefficient The coefficient to look up.
+     * @return The value of the coefficient.
+     */
+    public double get(Coefficients coefficient) {
+        return coefficients.get(coefficient);
+    }
+
+    /**
+     * Overrides the value of the supplied coefficient in this context.
+     * @param coefficient The coefficient to change. May not be BIAS_NODE_LINK_WEIGHT, which always keeps its default.
+     * @param value The new value of the coefficient.
+     */
+    public void set(Coefficients coefficient, double value) {
+        if(coefficient == Coefficients.BIAS_NODE_LINK_WEIGHT) {
+            throw new IllegalArgumentException(coefficient + " can not be overridden.");
+        }
+        coefficients.put(coefficient, value);
+    }
+
+    /**
+     * Returns the generator every random choice of this training is drawn from.
+     * @return The generator every random choice of this training is drawn from.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Returns the mutator used for the weights of this training's networks.
+     * @return The mutator used for the weights of this training's networks.
+     */
+    WeightMutator getWeightMutator() {
+        return weightMutator;
+    }
+
+    /**
+     * Returns the phenotypes recently compiled for this training's networks, which unlike the rest of the context may
+     * be used by any thread.
+     * @return The phenotypes recently compiled for this training's networks.
+     */
+    Phenotype.Cache getPhenotypeCache() {
+        return phenotypeCache;
+    }
+
+    /**
+     * Returns the selector used to choose the parents of every baby in this training.
+     * @return The selector used to choose parents.
+     */
+    public ParentSelector getParentSelector() {
+        return parentSelector;
+    }
+
+    /**
+     * Changes how the parents of every baby in this training are chosen. Parents are chosen uniformly by default.
+     * @param parentSelector The selector to choose parents with.
+     */
+    public void setParentSelector(ParentSelector parentSelector) {
+        this.parentSelector = parentSelector;
+    }
+
+    /**
+     * Returns true if this training's networks are evaluated with float weights and values instead of doubles.
+     * @return True if networks are evaluated in single precision.
+     */
+    public boolean isSinglePrecision() {
+        return singlePrecision;
+    }
+
+    /**
+     * Changes whether this training's networks are evaluated with float weights and values, which halves the memory
+     * their weights and values take but may change which output is largest when two are very close. Networks are
+     * evaluated in double precision by default.
+     * @param singlePrecision True to evaluate networks in single precision.
+     */
+    public void setSinglePrecision(boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+    }
+
+    /**
+     * Returns true if densely linked pairs of layers in this training's networks are evaluated as dense blocks.
+     * @return True if networks are evaluated with dense blocks.
+     */
+    public boolean isDenseBlocks() {
+        return phenotypeCache.getEngine() == Phenotype.Engine.DENSE_BLOCKS;
+    }
+
+    /**
+     * Changes whether densely linked pairs of layers in this training's networks are evaluated as dense blocks, i.e.
+     * as small matrix-vector products. They add up each node's links in a different order, so a network's outputs may
+     * differ in their last bits from those without blocks. Only networks compiled after the change are affected.
+     * Networks are evaluated without dense blocks by default.
+     * @param denseBlocks True to evaluate networks with dense blocks.
+     */
+    public void setDenseBlocks(boolean denseBlocks) {
+        phenotypeCache.setEngine(denseBlocks ? Phenotype.Engine.DENSE_BLOCKS : Phenotype.Engine.AUTOMATIC);
+    }
+
+    /**
+     * Returns the compatibility value below which two networks belong to the same species.
+     * @return The compatibility threshold.
+     */
+    public double getCompatThreshold() {
+        return compatThreshold;
+    }
+
+    public void setCompatThreshold(double compatThreshold) {
+        this.compatThreshold = compatThreshold;
+    }
+
+    /**
+     * Returns a species id that has not been handed out before.
+     * @return A new species id.
+     */
+    int nextSpeciesId() {
+        return nextSpeciesId++;
+    }
+
+    /**
+     * Returns the innovation number of a link between the supplied nodes, registering a new one if no such link has
+     * been seen before.
+     * @param inputID The id of the link's input node.
+     * @param outputID The id of the link's output node.
+     * @return The innovation number of the link.
+     */
+    int getInnovationNumber(int inputID, int outputID) {
+        long key = ((long) inputID << 32) | (outputID & 0xFFFFFFFFL);
+        Integer innovationNum = innovations.get(key);
+        if(innovationNum == null) {
+            innovationNum = innovations.size();
+            innovations.put(key, innovationNum);
+        }
+        return innovationNum;
+    }
+}
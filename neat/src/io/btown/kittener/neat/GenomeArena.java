@@ -0,0 +1,140 @@
+package io.btown.kittener.neat;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contiguous storage for the genes of a whole generation. Packing networks into an arena replaces each network's
+ * small gene arrays with a slice of a few large ones, so a population of many thousands of networks holds a handful
+ * of arrays rather than several per network. Networks keep reading their genes from the arena and copy a segment out
+ * before changing it, exactly like a clone does with the segments it shares with its parent.
+ * <p>
+ * Arenas are meant to be double-buffered: the next generation is packed into the arena that is not in use, after
+ * which the other one can be cleared and reused for the generation after that. An arena may only be cleared once no
+ * network that is still in use reads from it.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class GenomeArena {
+    private int[] nodeIds;
+    private int[] nodeLayers;
+    private int numNodes;
+
+    private int[] linkInnovations;
+    private int[] linkInputs;
+    private int[] linkOutputs;
+    private boolean[] linkEnabled;
+    private double[] weights;
+    private int numLinks;
+
+    /**
+     * Constructor for an empty arena.
+     */
+    public GenomeArena() {
+        nodeIds         = new int[0];
+        nodeLayers      = new int[0];
+        linkInnovations = new int[0];
+        linkInputs      = new int[0];
+        linkOutputs     = new int[0];
+        linkEnabled     = new boolean[0];
+        weights         = new double[0];
+    }
+
+    /**
+     * Forgets every network packed into this arena so its storage can be reused.
+     */
+    public void clear() {
+        numNodes = 0;
+        numLinks = 0;
+    }
+
+    /**
+     * Copies the genes of every supplied network into this arena, one after the other, and points each network at its
+     * slice. The storage is grown at most once, before anything is copied, so networks packed earlier never point at
+     * arrays that have been replaced.
+     * @param networks The networks to pack.
+     */
+    public void pack(List<Network> networks) {
+        int totalNodes = numNodes;
+        int totalLinks = numLinks;
+        for(Network network : networks) {
+            totalNodes += network.getNumNodes();
+            totalLinks += network.getNumLinks();
+        }
+        ensureCapacity(totalNodes, totalLinks);
+
+        for(Network network : networks) {
+            int nodeBase = numNodes;
+            for(int node = 0; node < network.getNumNodes(); node++) {
+                nodeIds[numNodes] = network.getNodeId(node);
+                nodeLayers[numNodes] = network.getNodeLayer(node);
+                numNodes++;
+            }
+
+            int linkBase = numLinks;
+            for(int link = 0; link < network.getNumLinks(); link++) {
+                linkInnovations[numLinks] = network.getLinkInnovation(link);
+                linkInputs[numLinks] = network.getLinkInput(link);
+                linkOutputs[numLinks] = network.getLinkOutput(link);
+                linkEnabled[numLinks] = network.isLinkEnabled(link);
+                weights[numLinks] = network.getWeight(link);
+                numLinks++;
+            }
+
+            network.moveToArena(nodeIds, nodeLayers, nodeBase, linkInnovations, linkInputs, linkOutputs, linkEnabled,
+                    weights, linkBase);
+        }
+    }
+
+    /**
+     * Grows the storage if it can not hold the supplied number of nodes and links. Grows by half again as much as is
+     * needed so that a slowly growing population does not reallocate every generation.
+     */
+    private void ensureCapacity(int totalNodes, int totalLinks) {
+        if(totalNodes > nodeIds.length) {
+            int length = totalNodes + totalNodes / 2;
+            nodeIds = Arrays.copyOf(nodeIds, length);
+            nodeLayers = Arrays.copyOf(nodeLayers, length);
+        }
+        if(totalLinks > linkInnovations.length) {
+            int length = totalLinks + totalLinks / 2;
+            linkInnovations = Arrays.copyOf(linkInnovations, length);
+            linkInputs = Arrays.copyOf(linkInputs, length);
+            linkOutputs = Arrays.copyOf(linkOutputs, length);
+            linkEnabled = Arrays.copyOf(linkEnabled, length);
+            weights = Arrays.copyOf(weights, length);
+        }
+    }
+
+    /**
+     * Returns the number of nodes packed into this arena.
+     * @return The number of nodes packed into this arena.
+     */
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    /**
+     * Returns the number of links packed into this arena.
+     * @return The number of links packed into this arena.
+     */
+    public int getNumLinks() {
+        return numLinks;
+    }
+
+    /**
+     * Returns how many nodes this arena can hold before its storage has to grow.
+     * @return How many nodes this arena can hold before its storage has to grow.
+     */
+    int getNodeCapacity() {
+        return nodeIds.length;
+    }
+
+    /**
+     * Returns how many links this arena can hold before its storage has to grow.
+     * @return How many links this arena can hold before its storage has to grow.
+     */
+    int getLinkCapacity() {
+        return linkInnovations.length;
+    }
+}
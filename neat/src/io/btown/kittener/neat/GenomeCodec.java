@@ -0,0 +1,179 @@
+package io.btown.kittener.neat;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converts networks to and from a compact binary form so they can be sent to evaluation workers. Node ids, layers
+ * and innovation numbers are written as variable-length integers since they are almost always small, while weights
+ * keep their full precision so a decoded network makes exactly the same decisions as the original.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public final class GenomeCodec {
+    /** Flag set on a link whose weight should be used when feeding forward. */
+    private static final int ENABLED_FLAG = 1;
+
+    /** The most nodes or links a decoded network may have. Far more than training ever grows, but small enough that
+     *  a corrupt count can not make the decoder allocate gigabytes. */
+    static final int MAX_GENES = 1 << 20;
+
+    private GenomeCodec() {
+    }
+
+    /**
+     * Writes the structure and weights of a network. Fitness and color are not written.
+     * @param network The network to write.
+     * @param out Where to write the network to.
+     * @throws IOException If the network could not be written.
+     */
+    public static void write(Network network, DataOutput out) throws IOException {
+        writeVarInt(out, network.getNumInputs());
+        writeVarInt(out, network.getNumOutputs());
+        writeVarInt(out, network.getNumLayers());
+
+        writeVarInt(out, network.getNumNodes());
+        for(int node = 0; node < network.getNumNodes(); node++) {
+            writeVarInt(out, network.getNodeId(node));
+            writeVarInt(out, network.getNodeLayer(node));
+        }
+
+        writeVarInt(out, network.getNumLinks());
+        for(int link = 0; link < network.getNumLinks(); link++) {
+            writeVarInt(out, network.getLinkInnovation(link));
+            writeVarInt(out, network.getLinkInput(link));
+            writeVarInt(out, network.getLinkOutput(link));
+            out.writeByte(network.isLinkEnabled(link) ? ENABLED_FLAG : 0);
+            out.writeDouble(network.getWeight(link));
+        }
+    }
+
+    /**
+     * Reads a network previously written by {@link #write(Network, DataOutput)}.
+     * @param in Where to read the network from.
+     * @param context The training the decoded network will belong to.
+     * @return The decoded network.
+     * @throws IOException If the network could not be read or is malformed.
+     */
+    public static Network read(DataInput in, EvolutionContext context) throws IOException {
+        int numInputs = readCount(in, "Input", MAX_GENES);
+        int numOutputs = readCount(in, "Output", MAX_GENES);
+        int numLayers = readCount(in, "Layer", MAX_GENES);
+
+        int numNodes = readCount(in, "Node", MAX_GENES);
+        if(numNodes < numInputs + numOutputs + 1) {
+            throw new IOException(numNodes + " nodes can not hold " + numInputs + " inputs, " + numOutputs
+                    + " outputs and the bias.");
+        }
+        int[] nodeIds = new int[numNodes];
+        int[] nodeLayers = new int[numNodes];
+        Set<Integer> ids = new HashSet<>();
+        for(int node = 0; node < numNodes; node++) {
+            nodeIds[node] = readVarInt(in);
+            nodeLayers[node] = readVarInt(in);
+            if(nodeIds[node] < -1 || nodeIds[node] >= MAX_GENES) {
+                throw new IOException("Node id " + nodeIds[node] + " is out of range.");
+            }
+            ids.add(nodeIds[node]);
+        }
+
+        int numLinks = readCount(in, "Link", MAX_GENES);
+        int[] linkInnovations = new int[numLinks];
+        int[] linkInputs = new int[numLinks];
+        int[] linkOutputs = new int[numLinks];
+        boolean[] linkEnabled = new boolean[numLinks];
+        double[] weights = new double[numLinks];
+        for(int link = 0; link < numLinks; link++) {
+            linkInnovations[link] = readVarInt(in);
+            linkInputs[link] = readVarInt(in);
+            linkOutputs[link] = readVarInt(in);
+            if(!ids.contains(linkInputs[link]) || !ids.contains(linkOutputs[link])) {
+                throw new IOException("Link " + linkInnovations[link] + " references a node that does not exist.");
+            }
+            linkEnabled[link] = (in.readByte() & ENABLED_FLAG) != 0;
+            weights[link] = in.readDouble();
+        }
+
+        return new Network(context, numInputs, numOutputs, numLayers, nodeIds, nodeLayers, linkInnovations,
+                linkInputs, linkOutputs, linkEnabled, weights);
+    }
+
+    /**
+     * Encodes a batch of networks into a single byte array.
+     * @param networks The networks to encode.
+     * @return The encoded networks.
+     */
+    public static byte[] encode(List<Network> networks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(DataOutputStream out = new DataOutputStream(bytes)) {
+            writeVarInt(out, networks.size());
+            for(Network network : networks) {
+                write(network, out);
+            }
+        } catch(IOException e) {
+            // Writing to a byte array can not fail.
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a batch of networks previously encoded by {@link #encode(List)}.
+     * @param bytes The encoded networks.
+     * @param context The training the decoded networks will belong to.
+     * @return The decoded networks, in the order they were encoded.
+     * @throws IOException If the bytes are malformed.
+     */
+    public static List<Network> decode(byte[] bytes, EvolutionContext context) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        // Every network takes at least one byte, so a larger count can only come from corrupt bytes.
+        int numNetworks = readCount(in, "Network", bytes.length);
+        List<Network> networks = new ArrayList<>(numNetworks);
+        for(int i = 0; i < numNetworks; i++) {
+            networks.add(read(in, context));
+        }
+        return networks;
+    }
+
+    /**
+     * Writes a zig-zag encoded variable-length integer, so small positive and negative values (like the bias node's
+     * id of -1) take a single byte.
+     */
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        int zigZag = (value << 1) ^ (value >> 31);
+        while((zigZag & ~0x7F) != 0) {
+            out.writeByte((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        out.writeByte(zigZag);
+    }
+
+    /**
+     * Reads a count of something and checks that it is neither negative nor larger than the supplied maximum.
+     */
+    private static int readCount(DataInput in, String what, int max) throws IOException {
+        int count = readVarInt(in);
+        if(count < 0 || count > max) {
+            throw new IOException(what + " count " + count + " is out of range.");
+        }
+        return count;
+    }
+
+    /**
+     * Reads a zig-zag encoded variable-length integer written by {@link #writeVarInt(DataOutput, int)}.
+     */
+    private static int readVarInt(DataInput in) throws IOException {
+        int zigZag = 0;
+        for(int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            zigZag |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Variable-length integer is too long.");
+    }
+}
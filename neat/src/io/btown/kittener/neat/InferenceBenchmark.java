@@ -0,0 +1,372 @@
+package io.btown.kittener.neat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A small benchmark of how quickly networks are fed forward in double and in single precision, and of how far the
+ * two drift apart. Networks are grown with random hidden nodes and links, then every network is fed the same random
+ * inputs for a number of steps in each precision and asked for a decision. It then compares evaluating layered
+ * networks of several densities with and without dense blocks, very large grown and layered networks link by link
+ * and as compressed sparse rows, and networks sharing a topology one at a time and as a batch. Run it with
+ * {@code java io.btown.kittener.neat.InferenceBenchmark [networks] [hiddenNodes] [steps]}.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class InferenceBenchmark {
+    /** The number of inputs and outputs of every network, about as many as a Kittener agent has. */
+    private static final int NUM_INPUTS = 32;
+    private static final int NUM_OUTPUTS = 4;
+
+    /** The fractions of the links between consecutive layers that layered networks are given. */
+    private static final double[] DENSITIES = {1.0, 0.9, 0.75, 0.5, 0.25};
+
+    /** The number of hidden nodes of the very large networks. */
+    private static final int LARGE_HIDDEN_NODES = 2000;
+
+    /** The width of the hidden layers of the large layered networks and the density of their links. */
+    private static final int LARGE_LAYER_WIDTH = 400;
+    private static final double LARGE_LAYER_DENSITY = 0.1;
+
+    /** The seed the networks and inputs are generated from, so runs can be compared. */
+    private static final long SEED = 42;
+
+    /** The number of untimed rounds run first, so the JIT has compiled everything being measured. */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /** The number of timed rounds. The fastest is reported. */
+    private static final int TIMED_ROUNDS = 5;
+
+    /** Sums every output so the JIT can not remove evaluations whose results are unused. */
+    private static volatile double sink;
+
+    public static void main(String[] args) {
+        int numNetworks = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int numHidden   = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int numSteps    = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        EvolutionContext context = new EvolutionContext(SEED);
+        List<Network> networks = grow(context, numNetworks, numHidden);
+        float[][] inputs = new float[numSteps][NUM_INPUTS];
+        Random random = new Random(SEED);
+        for(float[] step : inputs) {
+            for(int i = 0; i < step.length; i++) {
+                step[i] = random.nextFloat();
+            }
+        }
+
+        int links = 0;
+        for(Network network : networks) {
+            links += network.getNumLinks();
+        }
+        System.out.printf("%d networks, %d hidden nodes and %.0f links each on average, %d steps%n",
+                numNetworks, numHidden, (double) links / numNetworks, numSteps);
+
+        context.setSinglePrecision(false);
+        double doubleNanos = time(networks, inputs);
+        context.setSinglePrecision(true);
+        double floatNanos = time(networks, inputs);
+        System.out.printf("double: %8.1f ns per evaluation%n", doubleNanos);
+        System.out.printf("float:  %8.1f ns per evaluation (%.2fx)%n", floatNanos, doubleNanos / floatNanos);
+        context.setSinglePrecision(false);
+        double decideNanos = timeDecide(networks, inputs);
+        System.out.printf("decide: %8.1f ns per decision (%.2fx)%n", decideNanos, doubleNanos / decideNanos);
+
+        // Compare every output, and how often the largest output (the decision an agent makes) differs.
+        double maxDifference = 0;
+        int differentDecisions = 0;
+        for(Network network : networks) {
+            for(float[] step : inputs) {
+                context.setSinglePrecision(false);
+                double[] exact = network.feedForward(step);
+                context.setSinglePrecision(true);
+                double[] rounded = network.feedForward(step);
+                for(int i = 0; i < exact.length; i++) {
+                    maxDifference = Math.max(maxDifference, Math.abs(exact[i] - rounded[i]));
+                }
+                if(largest(exact) != largest(rounded)) {
+                    differentDecisions++;
+                }
+            }
+        }
+        System.out.printf("largest output difference: %.3g, decisions that differ: %d of %d%n",
+                maxDifference, differentDecisions, numNetworks * numSteps);
+        context.setSinglePrecision(false);
+
+        // Layered networks with two hidden layers, which are as dense as asked between every pair of layers.
+        for(double density : DENSITIES) {
+            List<Network> layered = new ArrayList<>();
+            for(int i = 0; i < numNetworks; i++) {
+                layered.add(layered(context, random, numHidden / 2, density));
+            }
+            double[] nanos = timeEngines(layered, inputs, Phenotype.Engine.SPARSE, Phenotype.Engine.DENSE_BLOCKS);
+            double difference = difference(layered, inputs[0], Phenotype.Engine.DENSE_BLOCKS);
+            System.out.printf("density %.2f: scalar %8.1f ns, dense blocks %8.1f ns (%.2fx), largest difference %.3g%n",
+                    density, nanos[0], nanos[1], nanos[0] / nanos[1], difference);
+        }
+
+        // A few very large networks, evaluated link by link and as compressed sparse rows: grown ones, which are
+        // sparse, and large layered ones, which are denser. Only the part of those that reaches an output is
+        // evaluated, so their size is measured.
+        int numLarge = Math.max(1, numNetworks / 20);
+        List<Network> large = grow(context, numLarge, LARGE_HIDDEN_NODES);
+        List<Network> largeLayered = new ArrayList<>();
+        for(int i = 0; i < numLarge; i++) {
+            largeLayered.add(layered(context, random, LARGE_LAYER_WIDTH, LARGE_LAYER_DENSITY));
+        }
+        float[][] largeInputs = Arrays.copyOf(inputs, Math.max(1, numSteps / 10));
+        double[] nanos = timeEngines(large, largeInputs, Phenotype.Engine.SPARSE, Phenotype.Engine.LEVEL_ROWS);
+        System.out.printf("%d hidden nodes: sparse %8.1f ns, level rows %8.1f ns (%.2fx), largest difference %.3g%n",
+                LARGE_HIDDEN_NODES, nanos[0], nanos[1], nanos[0] / nanos[1],
+                difference(large, inputs[0], Phenotype.Engine.LEVEL_ROWS));
+        nanos = timeEngines(largeLayered, largeInputs, Phenotype.Engine.SPARSE, Phenotype.Engine.LEVEL_ROWS);
+        int liveNodes = 0;
+        int liveLinks = 0;
+        for(Network network : largeLayered) {
+            liveNodes += Phenotype.compileUncached(network, Phenotype.Engine.SPARSE).getNumNodes();
+            liveLinks += Phenotype.liveLinks(network).length;
+        }
+        System.out.printf("layered, %d live nodes and %.1f links per node: sparse %8.1f ns, level rows %8.1f ns "
+                + "(%.2fx)%n", liveNodes / numLarge, (double) liveLinks / liveNodes, nanos[0], nanos[1],
+                nanos[0] / nanos[1]);
+
+        // Networks that all share the initial topology and only differ in their weights, like early in a run, fed
+        // forward one at a time and together as a batch.
+        List<Network> initial = new ArrayList<>();
+        for(int i = 0; i < numNetworks; i++) {
+            initial.add(new Network(context, NUM_INPUTS, NUM_OUTPUTS));
+        }
+        context.getWeightMutator().mutate(initial);
+        double[] batchNanos = timeBatch(initial, inputs);
+        System.out.printf("shared topology: one at a time %8.1f ns, batched %8.1f ns (%.2fx)%n",
+                batchNanos[0], batchNanos[1], batchNanos[0] / batchNanos[1]);
+    }
+
+    /**
+     * Returns the fewest nanoseconds a single evaluation took over the timed rounds, feeding every network forward
+     * on its own and then all of them together as a batch, each step giving every network the same inputs.
+     */
+    private static double[] timeBatch(List<Network> networks, float[][] inputs) {
+        float[][][] batchInputs = new float[inputs.length][networks.size()][];
+        for(int step = 0; step < inputs.length; step++) {
+            Arrays.fill(batchInputs[step], inputs[step]);
+        }
+        double[][] outputs = new double[networks.size()][NUM_OUTPUTS];
+
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE};
+        for(int round = 0; round < WARMUP_ROUNDS + TIMED_ROUNDS; round++) {
+            double sum = 0;
+            long start = System.nanoTime();
+            for(float[] step : inputs) {
+                for(Network network : networks) {
+                    sum += network.feedForward(step)[0];
+                }
+            }
+            long alone = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            NetworkBatch batch = new NetworkBatch(networks);
+            for(float[][] step : batchInputs) {
+                batch.feedForward(step, outputs);
+                sum += outputs[0][0];
+            }
+            long batched = System.nanoTime() - start;
+            sink += sum;
+            if(round >= WARMUP_ROUNDS) {
+                best[0] = Math.min(best[0], alone);
+                best[1] = Math.min(best[1], batched);
+            }
+        }
+        return new double[] {(double) best[0] / networks.size() / inputs.length,
+                (double) best[1] / networks.size() / inputs.length};
+    }
+
+    /**
+     * Returns the largest difference between the outputs of the supplied networks evaluated link by link and by the
+     * supplied engine.
+     */
+    private static double difference(List<Network> networks, float[] inputs, Phenotype.Engine engine) {
+        double difference = 0;
+        for(Network network : networks) {
+            Phenotype sparse = Phenotype.compileUncached(network, Phenotype.Engine.SPARSE);
+            Phenotype other = Phenotype.compileUncached(network, engine);
+            double[] sparseOutputs = sparse.feedForward(sparse.weightsOf(network), inputs, new double[0]);
+            double[] otherOutputs = other.feedForward(other.weightsOf(network), inputs, new double[0]);
+            for(int i = 0; i < sparseOutputs.length; i++) {
+                difference = Math.max(difference, Math.abs(sparseOutputs[i] - otherOutputs[i]));
+            }
+        }
+        return difference;
+    }
+
+    /**
+     * Grows the supplied number of networks until each has the supplied number of hidden nodes.
+     */
+    private static List<Network> grow(EvolutionContext context, int numNetworks, int numHidden) {
+        context.set(Coefficients.ADD_NODE_MUT, 0.5);
+        context.set(Coefficients.ADD_LINK_MUT, 0.9);
+        List<Network> networks = new ArrayList<>();
+        for(int i = 0; i < numNetworks; i++) {
+            Network network = new Network(context, NUM_INPUTS, NUM_OUTPUTS);
+            while(network.getNumNodes() < NUM_INPUTS + 1 + NUM_OUTPUTS + numHidden) {
+                network.mutate();
+            }
+            networks.add(network);
+        }
+        return networks;
+    }
+
+    /**
+     * Builds a network whose nodes are split into layers: the inputs and bias, two hidden layers of the supplied
+     * width and the outputs. Each pair of consecutive layers is linked with the supplied density.
+     */
+    private static Network layered(EvolutionContext context, Random random, int width, double density) {
+        int[] widths = {NUM_INPUTS + 1, width, width, NUM_OUTPUTS};
+        int numNodes = 0;
+        for(int layerWidth : widths) {
+            numNodes += layerWidth;
+        }
+
+        // Inputs come first, then the bias, the hidden nodes and the outputs, which have the ids after the inputs.
+        int[] nodeIds = new int[numNodes];
+        int[] nodeLayers = new int[numNodes];
+        int nextHiddenId = NUM_INPUTS + NUM_OUTPUTS;
+        int node = 0;
+        for(int layer = 0; layer < widths.length; layer++) {
+            for(int i = 0; i < widths[layer]; i++, node++) {
+                if(layer == 0) {
+                    nodeIds[node] = i < NUM_INPUTS ? i : -1;
+                } else if(layer == widths.length - 1) {
+                    nodeIds[node] = NUM_INPUTS + i;
+                } else {
+                    nodeIds[node] = nextHiddenId++;
+                }
+                nodeLayers[node] = layer;
+            }
+        }
+
+        List<int[]> links = new ArrayList<>();
+        for(int input = 0; input < numNodes; input++) {
+            for(int output = 0; output < numNodes; output++) {
+                if(nodeLayers[output] == nodeLayers[input] + 1 && random.nextDouble() < density) {
+                    links.add(new int[] {nodeIds[input], nodeIds[output]});
+                }
+            }
+        }
+        int[] innovations = new int[links.size()];
+        int[] inputs = new int[links.size()];
+        int[] outputs = new int[links.size()];
+        boolean[] enabled = new boolean[links.size()];
+        double[] weights = new double[links.size()];
+        for(int i = 0; i < links.size(); i++) {
+            inputs[i] = links.get(i)[0];
+            outputs[i] = links.get(i)[1];
+            innovations[i] = context.getInnovationNumber(inputs[i], outputs[i]);
+            enabled[i] = true;
+            weights[i] = random.nextDouble() * 2 - 1;
+        }
+        return new Network(context, NUM_INPUTS, NUM_OUTPUTS, widths.length - 1, nodeIds, nodeLayers, innovations,
+                inputs, outputs, enabled, weights);
+    }
+
+    /**
+     * Returns the fewest nanoseconds a single evaluation took over the timed rounds, evaluating phenotypes compiled
+     * for each of the supplied engines directly. Each round times every engine, so anything else slowing the machine
+     * down affects them alike.
+     */
+    private static double[] timeEngines(List<Network> networks, float[][] inputs, Phenotype.Engine... modes) {
+        Phenotype[][] phenotypes = new Phenotype[modes.length][networks.size()];
+        double[][][] weights = new double[modes.length][networks.size()][];
+        for(int mode = 0; mode < modes.length; mode++) {
+            for(int i = 0; i < networks.size(); i++) {
+                phenotypes[mode][i] = Phenotype.compileUncached(networks.get(i), modes[mode]);
+                weights[mode][i] = phenotypes[mode][i].weightsOf(networks.get(i));
+            }
+        }
+
+        double[] memory = new double[0];
+        long[] best = new long[modes.length];
+        Arrays.fill(best, Long.MAX_VALUE);
+        for(int round = 0; round < WARMUP_ROUNDS + TIMED_ROUNDS; round++) {
+            for(int mode = 0; mode < modes.length; mode++) {
+                double sum = 0;
+                long start = System.nanoTime();
+                for(int i = 0; i < networks.size(); i++) {
+                    for(float[] step : inputs) {
+                        sum += phenotypes[mode][i].feedForward(weights[mode][i], step, memory)[0];
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                sink += sum;
+                if(round >= WARMUP_ROUNDS) {
+                    best[mode] = Math.min(best[mode], elapsed);
+                }
+            }
+        }
+
+        double[] nanos = new double[modes.length];
+        for(int mode = 0; mode < modes.length; mode++) {
+            nanos[mode] = (double) best[mode] / networks.size() / inputs.length;
+        }
+        return nanos;
+    }
+
+    /**
+     * Returns the fewest nanoseconds a single evaluation took over the timed rounds.
+     */
+    private static double time(List<Network> networks, float[][] inputs) {
+        long best = Long.MAX_VALUE;
+        for(int round = 0; round < WARMUP_ROUNDS + TIMED_ROUNDS; round++) {
+            double sum = 0;
+            long start = System.nanoTime();
+            for(Network network : networks) {
+                for(float[] step : inputs) {
+                    sum += network.feedForward(step)[0];
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            sink += sum;
+            if(round >= WARMUP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        return (double) best / networks.size() / inputs.length;
+    }
+
+    /**
+     * Returns the fewest nanoseconds a single decision took over the timed rounds.
+     */
+    private static double timeDecide(List<Network> networks, float[][] inputs) {
+        long best = Long.MAX_VALUE;
+        for(int round = 0; round < WARMUP_ROUNDS + TIMED_ROUNDS; round++) {
+            int sum = 0;
+            long start = System.nanoTime();
+            for(Network network : networks) {
+                for(float[] step : inputs) {
+                    sum += network.decide(step);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            sink += sum;
+            if(round >= WARMUP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        return (double) best / networks.size() / inputs.length;
+    }
+
+    /**
+     * Returns the index of the largest of the supplied outputs.
+     */
+    private static int largest(double[] outputs) {
+        int largest = 0;
+        for(int i = 1; i < outputs.length; i++) {
+            if(outputs[i] > outputs[largest]) {
+                largest = i;
+            }
+        }
+        return largest;
+    }
+}
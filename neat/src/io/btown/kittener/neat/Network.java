@@ -0,0 +1,997 @@
+package io.btown.kittener.neat;
+
+import java.util.*;
+
+/**
+ * A genome and the network it describes. Genes are kept in parallel arrays split into segments: the nodes (ids and
+ * layers), the link structure (innovation numbers and endpoints), which links are enabled, and the weights. Cloning
+ * only copies the weights; the other segments are shared with the parent and copied on the first structural mutation
+ * that touches them, so a clone that only has its weights perturbed never duplicates its topology. Each segment
+ * starts at a base index in its arrays, which is only ever non-zero while the segment lives in a GenomeArena.
+ * <p>
+ * Along with the node segment, each network keeps its nodes in the order they are activated: by layer, then by id.
+ * Forward links only ever go from a layer to a later one, so this is a topological order, and it is kept up to date
+ * as nodes are added rather than being sorted again whenever the network is compiled.
+ * <p>
+ * A link that does not go to a later layer is recurrent: it passes on the value its input node had on the previous
+ * step rather than the current one. Networks only grow recurrent links if the RECURRENT_LINK_MUT coefficient is
+ * raised above zero, and only remember anything between steps when they are fed forward with a memory.
+ */
+public class Network {
+    private static final int BIAS_ID = -1;
+
+    /** The number of random pairs of nodes tried when looking for somewhere to add a recurrent link. */
+    private static final int MAX_RECURRENT_LINK_ATTEMPTS = 20;
+
+    /** The training this network belongs to. */
+    private final EvolutionContext context;
+
+    private int numNodes;
+    private int[] nodeIds;
+    private int[] nodeLayers;
+    private int nodeBase;
+    private boolean nodesShared;
+
+    /** The index of every node in activation order. Shared and copied along with the node segment, but never lives
+     *  in a GenomeArena, so it always starts at 0. */
+    private int[] nodeOrder;
+
+    private int numLinks;
+    private int[] linkInnovations;
+    private int[] linkInputs;
+    private int[] linkOutputs;
+    private int linkBase;
+    private boolean linksShared;
+    private boolean[] linkEnabled;
+    private int enabledBase;
+    private boolean enabledShared;
+    private double[] weights;
+    private int weightBase;
+    private boolean weightsShared;
+
+    private int numLayers;
+    private double fitness;
+    private final int numInputs;
+    private final int numOutputs;
+    private int speciesId;
+    private boolean dirty;
+    private long genomeHash;
+
+    /** A hash of this network's nodes and links without their weights, or 0 if it is out of date. */
+    private long structureHash;
+
+    /** The layer of every node indexed by its id less the smallest id, or null if it is out of date. Lets a link's
+     *  direction be found without searching for its endpoints. */
+    private int[] layerById;
+    private int smallestId;
+
+    /** The links that can affect an output, which only change along with the structure, and the phenotype. */
+    private int[] liveLinks;
+    private Phenotype phenotype;
+    private double[] phenotypeWeights;
+    private float[] phenotypeFloatWeights;
+
+    /** Space for the value of every node while this network is fed forward, reused so that doing so allocates
+     *  nothing. Never shared with a copy, so a network may only be fed forward by one thread at a time. */
+    private double[] scratch;
+    private float[] floatScratch;
+//    private Species prevSpecies;
+
+    public Network(EvolutionContext context, int inputNum, int outputNum) {
+        this.context = context;
+        numLayers = 0;
+        fitness = 0;
+        numInputs = inputNum;
+        numOutputs = outputNum;
+        speciesId = 0;
+        dirty = true;
+//        prevSpecies = null;
+
+        nodeIds = new int[inputNum + 1 + outputNum];
+        nodeLayers = new int[nodeIds.length];
+        nodeOrder = new int[nodeIds.length];
+        int[] linkCapacity = new int[(inputNum + 1) * outputNum];
+        linkInnovations = linkCapacity;
+        linkInputs = linkCapacity.clone();
+        linkOutputs = linkCapacity.clone();
+        linkEnabled = new boolean[linkCapacity.length];
+        weights = new double[linkCapacity.length];
+
+        for(int i = 0; i < inputNum; i++) {
+            addNodeGene(i, numLayers);
+        }
+        // We add the bias node here due to it needing activation after the input nodes.
+        addNodeGene(BIAS_ID, numLayers);
+        numLayers++;
+
+        // Our initial output layer is 1 since it is the layer specifically behind our input.
+        // If we add a node in the hidden layer, our output layer should grow.
+        for(int i = 0; i < outputNum; i++) {
+            addNodeGene(inputNum + i, numLayers);
+        }
+
+        // Now, fully connect the network; That is, every input node goes to every output node.
+        // Also, the bias node will be connected with an initial weight of 1.
+        for(int input = 0; input < numNodes; input++) {
+            if(nodeLayers[nodeBase + input] == 0) {
+                for(int output = 0; output < numNodes; output++) {
+                    if(nodeLayers[nodeBase + output] == numLayers) {
+                        if(nodeIds[nodeBase + input] == BIAS_ID) {
+                            addLink(input, output, 1);
+                        } else {
+                            addLink(input, output);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public Network(Network network) {
+        this.context    = network.context;
+        this.numLayers  = network.numLayers;
+        this.fitness    = network.fitness;
+        this.numInputs  = network.numInputs;
+        this.numOutputs = network.numOutputs;
+        speciesId = network.speciesId;
+//        this.prevSpecies = network.prevSpecies;
+
+        // Share every segment but the weights. Both networks must now copy a segment before changing it.
+        numNodes        = network.numNodes;
+        nodeIds         = network.nodeIds;
+        nodeLayers      = network.nodeLayers;
+        nodeOrder       = network.nodeOrder;
+        nodeBase        = network.nodeBase;
+        numLinks        = network.numLinks;
+        linkInnovations = network.linkInnovations;
+        linkInputs      = network.linkInputs;
+        linkOutputs     = network.linkOutputs;
+        linkBase        = network.linkBase;
+        linkEnabled     = network.linkEnabled;
+        enabledBase     = network.enabledBase;
+        weights         = Arrays.copyOfRange(network.weights, network.weightBase, network.weightBase + numLinks);
+        nodesShared     = network.nodesShared   = true;
+        linksShared     = network.linksShared   = true;
+        enabledShared   = network.enabledShared = true;
+
+        // A clone plays exactly like its parent, so it can keep the parent's hash until it is changed.
+        dirty = network.dirty;
+        genomeHash = network.genomeHash;
+        structureHash = network.structureHash;
+        layerById = network.layerById;
+        smallestId = network.smallestId;
+        liveLinks = network.liveLinks;
+        phenotype = network.phenotype;
+        phenotypeWeights = network.phenotypeWeights;
+        phenotypeFloatWeights = network.phenotypeFloatWeights;
+    }
+
+    /**
+     * Builds a network out of already decoded genes, e.g. by the GenomeCodec. The arrays are used as they are.
+     */
+    Network(EvolutionContext context, int inputNum, int outputNum, int numLayers, int[] nodeIds, int[] nodeLayers,
+            int[] linkInnovations, int[] linkInputs, int[] linkOutputs, boolean[] linkEnabled, double[] weights) {
+        this.context         = context;
+        this.numLayers       = numLayers;
+        this.fitness         = 0;
+        this.numInputs       = inputNum;
+        this.numOutputs      = outputNum;
+        this.numNodes        = nodeIds.length;
+        this.nodeIds         = nodeIds;
+        this.nodeLayers      = nodeLayers;
+        this.numLinks        = linkInnovations.length;
+        this.linkInnovations = linkInnovations;
+        this.linkInputs      = linkInputs;
+        this.linkOutputs     = linkOutputs;
+        this.linkEnabled     = linkEnabled;
+        this.weights         = weights;
+        speciesId = 0;
+        dirty = true;
+
+        // Decoded genes carry no order, so sort them once here. From now on the order is maintained incrementally.
+        Integer[] order = new Integer[numNodes];
+        for(int node = 0; node < numNodes; node++) {
+            order[node] = node;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer node) -> this.nodeLayers[node])
+                .thenComparingInt(node -> this.nodeIds[node]));
+        nodeOrder = new int[numNodes];
+        for(int position = 0; position < numNodes; position++) {
+            nodeOrder[position] = order[position];
+        }
+    }
+
+    /**
+     * Feeds the supplied inputs through this network without any memory, so recurrent links pass on nothing.
+     * @param inputValues A value for each input node.
+     * @return The value of each output node.
+     */
+    public double[] feedForward(float[] inputValues) {
+        return feedForward(inputValues, null);
+    }
+
+    /**
+     * Feeds the supplied inputs through this network. Recurrent links pass on the values saved in the supplied memory
+     * by the previous step, which are then replaced by this step's values. A memory should be all zeros when the
+     * agent it belongs to starts over. If the context asks for single precision, the network is evaluated with float
+     * weights and values, and only its outputs are widened to doubles.
+     * @param inputValues A value for each input node.
+     * @param memory The memory of the agent this network controls. Must hold at least getMemorySize() values.
+     * @return The value of each output node.
+     */
+    public double[] feedForward(float[] inputValues, double[] memory) {
+        double[] outputValues = new double[numOutputs];
+        feedForward(inputValues, memory, outputValues);
+        return outputValues;
+    }
+
+    /**
+     * Feeds the supplied inputs through this network into an array the caller owns. Nothing is allocated unless the
+     * network has changed since it was last fed forward.
+     * @param inputValues A value for each input node.
+     * @param memory The memory of the agent this network controls, or null to pass nothing over recurrent links.
+     * @param outputValues Set to the value of each output node. Must hold at least getNumOutputs() values.
+     */
+    public void feedForward(float[] inputValues, double[] memory, double[] outputValues) {
+        compile();
+        if(context.isSinglePrecision()) {
+            phenotype.feedForward(phenotypeFloatWeights, inputValues, memory, floatScratch, outputValues);
+        } else {
+            phenotype.feedForward(phenotypeWeights, inputValues, memory, scratch, outputValues);
+        }
+    }
+
+    /**
+     * Returns the index of the largest output for the supplied inputs without any memory.
+     * @param inputValues A value for each input node.
+     * @return The index of the largest output.
+     */
+    public int decide(float[] inputValues) {
+        return decide(inputValues, null);
+    }
+
+    /**
+     * Returns the index of the largest output for the supplied inputs, i.e. the decision of an agent this network
+     * controls, without allocating anything unless the network has changed since it was last fed forward. Outputs
+     * are ranked by their sums rather than squashed first. The sigmoid never decreases, so the decision is the same
+     * as the largest output of feedForward, except when several outputs are so large that they squash to the same
+     * value; feedForward then picks the first of them and this the one that really is the largest.
+     * @param inputValues A value for each input node.
+     * @param memory The memory of the agent this network controls, or null to pass nothing over recurrent links.
+     * @return The index of the largest output, the first one if several are equally large.
+     */
+    public int decide(float[] inputValues, double[] memory) {
+        compile();
+        if(context.isSinglePrecision()) {
+            return phenotype.decide(phenotypeFloatWeights, inputValues, memory, floatScratch);
+        }
+        return phenotype.decide(phenotypeWeights, inputValues, memory, scratch);
+    }
+
+    /**
+     * Returns the number of values this network remembers between steps, i.e. the number of nodes that send a value
+     * over a recurrent link.
+     * @return The number of values this network remembers between steps.
+     */
+    public int getMemorySize() {
+        compile();
+        return phenotype.getMemorySize();
+    }
+
+    /**
+     * Returns whether this network is evaluated in single precision.
+     * @return True if the context asks for single precision.
+     */
+    boolean isSinglePrecision() {
+        return context.isSinglePrecision();
+    }
+
+    /**
+     * Returns this network's compiled phenotype, which is shared by every network with the same topology.
+     * @return This network's phenotype.
+     */
+    Phenotype getPhenotype() {
+        compile();
+        return phenotype;
+    }
+
+    /**
+     * Returns this network's weights in the order its phenotype expects them. Only available when the network is
+     * evaluated in double precision.
+     * @return This network's weight vector.
+     */
+    double[] getPhenotypeWeights() {
+        compile();
+        return phenotypeWeights;
+    }
+
+    /**
+     * Compiles this network's phenotype and extracts its weights in the precision the context asks for, if they are
+     * out of date. This is done lazily, since many babies are changed again before they are ever fed forward.
+     */
+    private void compile() {
+        if(phenotype == null) {
+            liveLinks = Phenotype.liveLinks(this);
+            phenotype = context.getPhenotypeCache().compile(this, liveLinks);
+        }
+        if(context.isSinglePrecision()) {
+            if(phenotypeFloatWeights == null) {
+                phenotypeFloatWeights = phenotype.floatWeightsOf(this, liveLinks);
+            }
+            if(floatScratch == null || floatScratch.length < phenotype.getNumNodes()) {
+                floatScratch = new float[phenotype.getNumNodes()];
+            }
+        } else {
+            if(phenotypeWeights == null) {
+                phenotypeWeights = phenotype.weightsOf(this, liveLinks);
+            }
+            if(scratch == null || scratch.length < phenotype.getNumNodes()) {
+                scratch = new double[phenotype.getNumNodes()];
+            }
+        }
+    }
+
+    /**
+     * Records that this network's structure has changed, so its hashes and phenotype are out of date.
+     */
+    private void changed() {
+        weightsChanged();
+        structureHash = 0;
+        layerById = null;
+        liveLinks = null;
+        phenotype = null;
+    }
+
+    /**
+     * Records that only this network's weights have changed, so its hash and weight vector are out of date but its
+     * phenotype is not.
+     */
+    private void weightsChanged() {
+        dirty = true;
+        phenotypeWeights = null;
+        phenotypeFloatWeights = null;
+    }
+
+    public Network crossover(Network parent) {
+        Network baby;
+        Network primaryParent;
+        Network secondParent;
+        if(this.fitness > parent.getFitness()) {
+            baby = new Network(this);
+            primaryParent = this;
+            secondParent = parent;
+        } else if(this.fitness < parent.getFitness()) {
+            baby = new Network(parent);
+            primaryParent = parent;
+            secondParent = this;
+        } else {
+            // Since the fitness is identical, doesn't matter which one we clone. However, it is substantially easier
+            // working with the one that has more layers when adding new nodes.
+            if(this.numLayers >= parent.numLayers) {
+                baby = new Network(this);
+                primaryParent = this;
+                secondParent = parent;
+            } else {
+                baby = new Network(parent);
+                primaryParent = parent;
+                secondParent = this;
+            }
+            // Add any missing nodes from the secondary parent to the baby to prepare for disjoint links.
+            for(int node = 0; node < secondParent.numNodes; node++) {
+                if(primaryParent.indexOfNode(secondParent.getNodeId(node)) == -1) {
+                    baby.addNodeGene(secondParent.getNodeId(node), secondParent.getNodeLayer(node));
+                }
+            }
+
+            // Now add any missing disjoint links to the baby.
+            for(int link = 0; link < secondParent.numLinks; link++) {
+                if(primaryParent.indexOfLink(secondParent.getLinkInnovation(link)) == -1) {
+                    int input = baby.indexOfNode(secondParent.getLinkInput(link));
+                    int output = baby.indexOfNode(secondParent.getLinkOutput(link));
+                    baby.addLink(input, output, secondParent.getWeight(link));
+                }
+            }
+        }
+
+        // Randomly select the weight and enabled between all matching links. Since we've already cloned from the
+        // primary parent, we just need to determine if they should be selected from the secondary one.
+        for(int link = 0; link < baby.numLinks; link++) {
+            int innovationNum = baby.getLinkInnovation(link);
+            int toCopy = secondParent.indexOfLink(innovationNum);
+            if(toCopy != -1 && primaryParent.indexOfLink(innovationNum) != -1 && context.getRandom().nextBoolean()) {
+                baby.weights[link] = secondParent.getWeight(toCopy);
+                baby.setEnabled(link, secondParent.isLinkEnabled(toCopy));
+            }
+        }
+
+        baby.changed();
+        return baby;
+    }
+
+    /**
+     * Mutates this network's weights, then possibly its structure. When many networks are mutated at once, pass them
+     * all to the context's WeightMutator and call mutateStructure on each instead.
+     */
+    public void mutate() {
+        context.getWeightMutator().mutate(Collections.singletonList(this));
+        mutateStructure();
+    }
+
+    /**
+     * Mutates the structure of this network: toggling, adding links and adding nodes.
+     */
+    void mutateStructure() {
+        Random random = context.getRandom();
+
+        // Toggle on the first link that is disabled.
+        if(random.nextDouble() < context.get(Coefficients.TOGGLE_LINK_MUT)) toggleLinkMutation();
+
+        // Add a new link to the network if possible.
+        if(random.nextDouble() < context.get(Coefficients.ADD_LINK_MUT)) addLinkMutation();
+
+        // Add a new node to the network if possible.
+        if(random.nextDouble() < context.get(Coefficients.ADD_NODE_MUT)) addNodeMutation();
+    }
+
+    /**
+     * Copies this network's weights into the supplied array.
+     * @param dest The array to copy into.
+     * @param offset Where in the array to start.
+     */
+    void copyWeightsTo(double[] dest, int offset) {
+        System.arraycopy(weights, weightBase, dest, offset, numLinks);
+    }
+
+    /**
+     * Replaces this network's weights with those in the supplied array.
+     * @param src The array to copy from.
+     * @param offset Where in the array to start.
+     */
+    void setWeightsFrom(double[] src, int offset) {
+        unshareWeights();
+        System.arraycopy(src, offset, weights, weightBase, numLinks);
+        weightsChanged();
+    }
+
+    private void toggleLinkMutation() {
+        for(int link = 0; link < numLinks; link++) {
+            if(!linkEnabled[enabledBase + link]) {
+                setEnabled(link, true);
+                break;
+            }
+        }
+    }
+
+    private void addLinkMutation() {
+        Random random = context.getRandom();
+        double recurrentChance = context.get(Coefficients.RECURRENT_LINK_MUT);
+        if(recurrentChance > 0 && random.nextDouble() < recurrentChance) {
+            addRecurrentLinkMutation();
+        } else if(!isFullyConnected()) {
+
+            int input, output;
+            do {
+                input = random.nextInt(numNodes);
+                output = random.nextInt(numNodes);
+            } while(isBadLink(input, output));
+
+            if(nodeLayers[nodeBase + output] < nodeLayers[nodeBase + input]) {
+                int temp = input;
+                input = output;
+                output = temp;
+            }
+
+            addLink(input, output);
+        }
+    }
+
+    /**
+     * Adds a link from a node back to itself or to a node on the same or an earlier layer that is not an input or the
+     * bias. Gives up after a few tries if every pair picked is already connected.
+     */
+    private void addRecurrentLinkMutation() {
+        Random random = context.getRandom();
+        for(int attempt = 0; attempt < MAX_RECURRENT_LINK_ATTEMPTS; attempt++) {
+            int input = random.nextInt(numNodes);
+            int output = random.nextInt(numNodes);
+            int outputLayer = nodeLayers[nodeBase + output];
+            if(outputLayer > 0 && outputLayer <= nodeLayers[nodeBase + input] && !isConnected(input, output)) {
+                addLink(input, output);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the supplied link does not go to a later layer, and so passes on its input's previous value.
+     */
+    boolean isRecurrent(int link) {
+        if(layerById == null) {
+            indexLayers();
+        }
+        int inputLayer = layerById[linkInputs[linkBase + link] - smallestId];
+        int outputLayer = layerById[linkOutputs[linkBase + link] - smallestId];
+        return outputLayer <= inputLayer;
+    }
+
+    /**
+     * Records the layer of every node by its id. Node ids are handed out in order as nodes are added, so they are
+     * dense and the table is about as long as there are nodes.
+     */
+    private void indexLayers() {
+        int smallest = 0;
+        int largest = 0;
+        for(int node = 0; node < numNodes; node++) {
+            smallest = Math.min(smallest, nodeIds[nodeBase + node]);
+            largest = Math.max(largest, nodeIds[nodeBase + node]);
+        }
+        int[] layers = new int[largest - smallest + 1];
+        for(int node = 0; node < numNodes; node++) {
+            layers[nodeIds[nodeBase + node] - smallest] = nodeLayers[nodeBase + node];
+        }
+        smallestId = smallest;
+        layerById = layers;
+    }
+
+    /**
+     * Returns true if every node is linked to every node on a later layer. Recurrent links are not counted.
+     */
+    public boolean isFullyConnected() {
+        // Count the nodes on each layer, then every node can link to every node on a later layer.
+        int maxLayer = 0;
+        for(int node = 0; node < numNodes; node++) {
+            maxLayer = Math.max(maxLayer, nodeLayers[nodeBase + node]);
+        }
+        long[] nodesPerLayer = new long[maxLayer + 1];
+        for(int node = 0; node < numNodes; node++) {
+            nodesPerLayer[nodeLayers[nodeBase + node]]++;
+        }
+
+        long maxLinks = 0;
+        long nodesAfter = numNodes;
+        for(long count : nodesPerLayer) {
+            nodesAfter -= count;
+            maxLinks += count * nodesAfter;
+        }
+
+        long numForward = 0;
+        for(int link = 0; link < numLinks; link++) {
+            if(!isRecurrent(link)) numForward++;
+        }
+        return maxLinks == numForward;
+    }
+
+    /**
+     * Returns true if the supplied nodes can not be given a new forward link, in whichever direction that would go.
+     */
+    private boolean isBadLink(int node1, int node2) {
+        int layer1 = nodeLayers[nodeBase + node1];
+        int layer2 = nodeLayers[nodeBase + node2];
+        return layer1 == layer2 || (layer1 < layer2 ? isConnected(node1, node2) : isConnected(node2, node1));
+    }
+
+    private boolean isConnected(int input, int output) {
+        int inputID = nodeIds[nodeBase + input];
+        int outputID = nodeIds[nodeBase + output];
+        for(int link = 0; link < numLinks; link++) {
+            if(linkInputs[linkBase + link] == inputID && linkOutputs[linkBase + link] == outputID) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addNodeMutation() {
+        Random random = context.getRandom();
+        int link;
+        do {
+            link = random.nextInt(numLinks);
+        } while(linkInputs[linkBase + link] == BIAS_ID || isRecurrent(link));
+
+        addNode(link);
+    }
+
+    private void addNode(int link) {
+        setEnabled(link, false);
+        int oldInput = indexOfNode(linkInputs[linkBase + link]);
+        int oldOutput = indexOfNode(linkOutputs[linkBase + link]);
+        int layer = (int) Math.ceil((nodeLayers[nodeBase + oldInput] + nodeLayers[nodeBase + oldOutput]) / 2.0);
+
+        // If the layer we're placing our new node was the previous output nodes layer, we
+        // move all layers that are equal to or greater than the new layer 'down'. Those nodes are exactly the end of
+        // the activation order, and moving them all keeps them in the same order.
+        if(layer == nodeLayers[nodeBase + oldOutput]) {
+            unshareNodes(numNodes);
+            for(int position = orderPosition(layer, Integer.MIN_VALUE); position < numNodes; position++) {
+                nodeLayers[nodeBase + nodeOrder[position]]++;
+            }
+        }
+        numLayers++;
+
+        // Actually add the node now so it avoids having it's own layer incremented.
+        int toAdd = addNodeGene(numNodes, layer);
+
+        // Now add links to either side of the new node. The link going from the old input to the
+        // new node gets a weight of 1 while the link going from the new node to the old output
+        // receives the weight of the now-disabled link.
+        addLink(oldInput, toAdd, 1);
+        addLink(toAdd, oldOutput, weights[weightBase + link]);
+
+        // Finally connect our bias node with a weight of 0 to minimize the bias' initial impact.
+        addLink(indexOfNode(BIAS_ID), toAdd, 0);
+    }
+
+    /**
+     * Appends a node to this network and inserts it into the activation order.
+     * @return The index of the new node.
+     */
+    private int addNodeGene(int id, int layer) {
+        unshareNodes(numNodes + 1);
+        nodeIds[nodeBase + numNodes] = id;
+        nodeLayers[nodeBase + numNodes] = layer;
+
+        int position = orderPosition(layer, id);
+        System.arraycopy(nodeOrder, position, nodeOrder, position + 1, numNodes - position);
+        nodeOrder[position] = numNodes;
+        changed();
+        return numNodes++;
+    }
+
+    /**
+     * Returns the position in the activation order of the first node that comes after a node with the supplied layer
+     * and id, by binary search.
+     */
+    private int orderPosition(int layer, int id) {
+        int low = 0;
+        int high = numNodes;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            int node = nodeBase + nodeOrder[middle];
+            if(nodeLayers[node] < layer || (nodeLayers[node] == layer && nodeIds[node] < id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void addLink(int input, int output, double weight) {
+        if(!isConnected(input, output)) {
+            int inputID = nodeIds[nodeBase + input];
+            int outputID = nodeIds[nodeBase + output];
+
+            unshareLinks(numLinks + 1);
+            linkInnovations[linkBase + numLinks] = context.getInnovationNumber(inputID, outputID);
+            linkInputs[linkBase + numLinks] = inputID;
+            linkOutputs[linkBase + numLinks] = outputID;
+            linkEnabled[enabledBase + numLinks] = true;
+            weights[weightBase + numLinks] = weight;
+            numLinks++;
+            changed();
+        }
+    }
+
+    private void addLink(int input, int output) {
+        addLink(input, output, context.getRandom().nextDouble() * 2 - 1);
+    }
+
+    private void setEnabled(int link, boolean enabled) {
+        if(linkEnabled[enabledBase + link] != enabled) {
+            if(enabledShared) {
+                // The link structure is always shared too when the enabled flags are, so it holds exactly numLinks.
+                linkEnabled = Arrays.copyOfRange(linkEnabled, enabledBase, enabledBase + numLinks);
+                enabledBase = 0;
+                enabledShared = false;
+            }
+            linkEnabled[link] = enabled;
+            changed();
+        }
+    }
+
+    /**
+     * Makes sure the node segment is owned by this network and can hold the supplied number of nodes.
+     */
+    private void unshareNodes(int capacity) {
+        if(nodesShared || capacity > nodeIds.length) {
+            int length = Math.max(capacity, nodesShared ? numNodes : 2 * nodeIds.length);
+            nodeIds = Arrays.copyOfRange(nodeIds, nodeBase, nodeBase + length);
+            nodeLayers = Arrays.copyOfRange(nodeLayers, nodeBase, nodeBase + length);
+            nodeOrder = Arrays.copyOf(nodeOrder, length);
+            nodeBase = 0;
+            nodesShared = false;
+        }
+    }
+
+    /**
+     * Makes sure every link segment is owned by this network and can hold the supplied number of links.
+     */
+    private void unshareLinks(int capacity) {
+        if(linksShared || capacity > linkInnovations.length) {
+            int length = Math.max(capacity, linksShared ? numLinks : 2 * linkInnovations.length);
+            linkInnovations = Arrays.copyOfRange(linkInnovations, linkBase, linkBase + length);
+            linkInputs = Arrays.copyOfRange(linkInputs, linkBase, linkBase + length);
+            linkOutputs = Arrays.copyOfRange(linkOutputs, linkBase, linkBase + length);
+            linkEnabled = Arrays.copyOfRange(linkEnabled, enabledBase, enabledBase + length);
+            linkBase = 0;
+            enabledBase = 0;
+            linksShared = false;
+            enabledShared = false;
+        }
+        if(weightsShared || capacity > weights.length) {
+            int length = Math.max(capacity, weightsShared ? numLinks : 2 * weights.length);
+            weights = Arrays.copyOfRange(weights, weightBase, weightBase + length);
+            weightBase = 0;
+            weightsShared = false;
+        }
+    }
+
+    /**
+     * Makes sure the weights are owned by this network, which is only not the case while they live in a GenomeArena.
+     */
+    private void unshareWeights() {
+        if(weightsShared) {
+            weights = Arrays.copyOfRange(weights, weightBase, weightBase + numLinks);
+            weightBase = 0;
+            weightsShared = false;
+        }
+    }
+
+    /**
+     * Points every segment of this network at a slice of the supplied arena storage. The arena owns the storage, so
+     * every segment is marked shared and is copied back out before it is changed.
+     */
+    void moveToArena(int[] nodeIds, int[] nodeLayers, int nodeBase, int[] linkInnovations, int[] linkInputs,
+                     int[] linkOutputs, boolean[] linkEnabled, double[] weights, int linkBase) {
+        this.nodeIds         = nodeIds;
+        this.nodeLayers      = nodeLayers;
+        this.nodeBase        = nodeBase;
+        this.linkInnovations = linkInnovations;
+        this.linkInputs      = linkInputs;
+        this.linkOutputs     = linkOutputs;
+        this.linkEnabled     = linkEnabled;
+        this.weights         = weights;
+        this.linkBase        = linkBase;
+        this.enabledBase     = linkBase;
+        this.weightBase      = linkBase;
+        nodesShared = linksShared = enabledShared = weightsShared = true;
+    }
+
+    public double getCompatibilityValue(Network network) {
+        double compatibility = 0.0;
+        int numDisjoint = getNumDisjointLinks(network);
+        double avgWeightDiff = getAvgWeightDiff(network);
+        double largestNetworkSize = Math.max(numLinks, network.numLinks);
+
+        if(largestNetworkSize < 20) {
+            largestNetworkSize = 1;
+        }
+
+        compatibility += (context.get(Coefficients.DISJOINT_CO) * numDisjoint) / largestNetworkSize;
+        compatibility += context.get(Coefficients.WEIGHT_CO) * avgWeightDiff;
+
+        return compatibility;
+    }
+
+    public boolean isCompatibleTo(Network network) {
+        return getCompatibilityValue(network) <= context.getCompatThreshold();
+    }
+
+    private int getNumDisjointLinks(Network network) {
+        int numMatching = 0;
+        for(int link = 0; link < numLinks; link++) {
+            if(network.indexOfLink(linkInnovations[linkBase + link]) != -1) {
+                numMatching++;
+            }
+        }
+
+        // Every link that is not matching is disjoint, from either network.
+        return (numLinks - numMatching) + (network.numLinks - numMatching);
+    }
+
+    private double getAvgWeightDiff(Network network) {
+        int numMatching = 0;
+        double weightSum = 0.0;
+
+        for(int link = 0; link < numLinks; link++) {
+            int other = network.indexOfLink(linkInnovations[linkBase + link]);
+            if(other != -1) {
+                weightSum += Math.abs(weights[weightBase + link] - network.getWeight(other));
+                numMatching++;
+            }
+        }
+
+        if(numMatching == 0) {
+            return 100;
+        } else if(weightSum == 0) {
+            return 0;
+        }
+        return numMatching / weightSum;
+    }
+
+    /**
+     * Returns the index of the node with the supplied id, or -1 if this network has no such node.
+     */
+    private int indexOfNode(int id) {
+        for(int node = 0; node < numNodes; node++) {
+            if(nodeIds[nodeBase + node] == id) {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the link with the supplied innovation number, or -1 if this network has no such link.
+     */
+    private int indexOfLink(int innovationNum) {
+        for(int link = 0; link < numLinks; link++) {
+            if(linkInnovations[linkBase + link] == innovationNum) {
+                return link;
+            }
+        }
+        return -1;
+    }
+
+    int getNumNodes() {
+        return numNodes;
+    }
+
+    int getNodeId(int node) {
+        return nodeIds[nodeBase + node];
+    }
+
+    int getNodeLayer(int node) {
+        return nodeLayers[nodeBase + node];
+    }
+
+    /**
+     * Returns the index of the node activated at the supplied position. Nodes are activated by layer, then by id.
+     */
+    int getNodeInOrder(int position) {
+        return nodeOrder[position];
+    }
+
+    int getNumLinks() {
+        return numLinks;
+    }
+
+    int getLinkInnovation(int link) {
+        return linkInnovations[linkBase + link];
+    }
+
+    int getLinkInput(int link) {
+        return linkInputs[linkBase + link];
+    }
+
+    int getLinkOutput(int link) {
+        return linkOutputs[linkBase + link];
+    }
+
+    boolean isLinkEnabled(int link) {
+        return linkEnabled[enabledBase + link];
+    }
+
+    double getWeight(int link) {
+        return weights[weightBase + link];
+    }
+
+    int getNumLayers() {
+        return numLayers;
+    }
+
+    int getNumInputs() {
+        return numInputs;
+    }
+
+    int getNumOutputs() {
+        return numOutputs;
+    }
+
+    /**
+     * Returns a hash of this network's nodes, links and weights. Two networks with the same hash make the same
+     * decisions, so in a deterministic environment they earn the same fitness. The hash is only recomputed if this
+     * network has changed since it was last evaluated.
+     */
+    public long getGenomeHash() {
+        if(dirty) {
+            genomeHash = computeGenomeHash();
+        }
+        return genomeHash;
+    }
+
+    /**
+     * Returns whether this network has been changed (or never evaluated) since {@link #markEvaluated()} was called.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Records that this network's current genome has been evaluated.
+     */
+    public void markEvaluated() {
+        getGenomeHash();
+        dirty = false;
+    }
+
+    /**
+     * Returns a hash of this network's nodes and links, leaving out their weights. Two networks with the same
+     * structure hash compile to the same phenotype. The hash is only recomputed after the structure changes.
+     */
+    long getStructureHash() {
+        if(structureHash == 0) {
+            long hash = mix(((long) numInputs << 32) | numOutputs);
+            for(int node = 0; node < numNodes; node++) {
+                hash += mix(((long) nodeIds[nodeBase + node] << 32) ^ nodeLayers[nodeBase + node]);
+            }
+            for(int link = 0; link < numLinks; link++) {
+                long gene = mix(((long) linkInputs[linkBase + link] << 32) ^ linkOutputs[linkBase + link]);
+                long enabled = linkEnabled[enabledBase + link] ? 0x9E3779B97F4A7C15L : 0;
+                hash += mix(gene ^ linkInnovations[linkBase + link] ^ enabled);
+            }
+            // Zero marks an out of date hash.
+            structureHash = hash == 0 ? 1 : hash;
+        }
+        return structureHash;
+    }
+
+    private long computeGenomeHash() {
+        // Genes are combined by summing so the order of the node and link lists does not matter.
+        long hash = mix(((long) numInputs << 32) | numOutputs);
+        for(int node = 0; node < numNodes; node++) {
+            hash += mix(((long) nodeIds[nodeBase + node] << 32) ^ nodeLayers[nodeBase + node]);
+        }
+        for(int link = 0; link < numLinks; link++) {
+            long gene = mix(((long) linkInputs[linkBase + link] << 32) ^ linkOutputs[linkBase + link]);
+            long enabled = linkEnabled[enabledBase + link] ? 0x9E3779B97F4A7C15L : 0;
+            gene = mix(gene ^ linkInnovations[linkBase + link] ^ enabled);
+            hash += mix(gene ^ Double.doubleToLongBits(weights[weightBase + link]));
+        }
+        return hash;
+    }
+
+    /**
+     * The SplitMix64 finalizer, which spreads every input bit over the whole hash.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+    }
+
+    /**
+     * Returns the id of the species this network was last placed in, or 0 if it has not been placed in one.
+     * @return The id of the species this network was last placed in.
+     */
+    public int getSpeciesId() {
+        return speciesId;
+    }
+
+    public void setSpeciesId(int speciesId) {
+        this.speciesId = speciesId;
+    }
+
+    //    public Species getPrevSpecies() {
+//        return prevSpecies;
+//    }
+//
+//    public void setPrevSpecies(Species prevSpecies) {
+//        this.prevSpecies = prevSpecies;
+//    }
+
+
+    @Override
+    public String toString() {
+        return String.format("\t# Nodes:%4d  # Links:%5d  Fitness: %f\n", numNodes,
+                numLinks, fitness);
+    }
+}
@@ -0,0 +1,62 @@
+package io.btown.kittener.neat;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses the parents of the babies bred from a group of networks. A selector is prepared once for a group, e.g. the
+ * survivors of a species, and can then pick any number of parents in constant time without allocating. The same
+ * selector is reused for every group, one after another, so its buffers are only grown when a larger group comes
+ * along.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public interface ParentSelector {
+    /**
+     * Prepares to pick parents from the supplied networks, using their current fitness.
+     * @param candidates The networks to pick from. Must not change until the last pick.
+     */
+    void prepare(List<Network> candidates);
+
+    /**
+     * Picks a parent from the prepared networks.
+     * @param random The generator to draw from.
+     * @return The chosen parent.
+     */
+    Network pick(Random random);
+
+    /**
+     * Returns a selector that picks every candidate with the same chance, regardless of fitness.
+     * @return A uniform selector.
+     */
+    static ParentSelector uniform() {
+        return new UniformSelector();
+    }
+
+    /**
+     * Returns a selector that picks candidates with a chance proportional to their fitness, using a Walker alias
+     * table.
+     * @return A fitness-proportionate selector.
+     */
+    static ParentSelector fitnessProportionate() {
+        return new AliasSelector(false);
+    }
+
+    /**
+     * Returns a selector that picks candidates with a chance proportional to their rank, so the fittest is n times as
+     * likely as the weakest however far apart their scores are.
+     * @return A rank selector.
+     */
+    static ParentSelector rank() {
+        return new AliasSelector(true);
+    }
+
+    /**
+     * Returns a selector that picks the fittest of a few candidates drawn uniformly.
+     * @param size The number of candidates drawn for each pick. Larger sizes mean more selection pressure.
+     * @return A tournament selector.
+     */
+    static ParentSelector tournament(int size) {
+        return new TournamentSelector(size);
+    }
+}
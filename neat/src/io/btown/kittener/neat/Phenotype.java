@@ -0,0 +1,1052 @@
+package io.btown.kittener.neat;
+
+import java.util.*;
+
+/**
+ * A network's topology compiled into flat arrays that can be evaluated without walking any node or link objects.
+ * Phenotypes only describe which nodes are connected; the weights are supplied by each network. Most offspring only
+ * differ from their parents in their weights, so phenotypes are cached by their topology and shared between every
+ * network of a training that has the same one, meaning a topology is only compiled once no matter how many organisms
+ * use it. Each EvolutionContext has its own cache, so trainings running side by side never wait on each other.
+ * <p>
+ * Only the part of a network that can affect its outputs is compiled. Disabled links and hidden nodes with no path to
+ * an output are left out, so evaluating a network costs as much as the links that matter rather than every link it
+ * has accumulated over its history. The genome itself keeps them all.
+ * <p>
+ * Most networks are evaluated one link at a time, each adding its weighted input to its output. Very large networks
+ * are instead evaluated level by level as compressed sparse rows: each node gathers the values of the links entering
+ * it, in the order of the slots they come from, and is written once. That only pays off once nodes gather enough
+ * links each, so large networks as sparse as evolution usually grows them are still evaluated link by link. Both ways add up every node's links in the same
+ * order, so they produce exactly the same values.
+ * <p>
+ * A training may also ask for pairs of layers that are linked densely, such as the inputs and outputs every network
+ * starts out fully connecting, to be evaluated as a small matrix-vector product over consecutive slots, with a zero
+ * weight for any link that is missing. The products are added up in four independent sums, which changes the order
+ * they are added in, so a network's outputs may differ from the other engines' in their last bits. That is why dense
+ * blocks are never picked automatically.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+final class Phenotype {
+    /** The ways a phenotype can evaluate its forward links. */
+    enum Engine {
+        /** Picks SPARSE or LEVEL_ROWS by the size of the network and how many links enter each node. */
+        AUTOMATIC,
+        /** Every link adds its weighted input to its output as soon as its input is activated. */
+        SPARSE,
+        /** Like SPARSE, but densely linked pairs of layers are evaluated as dense blocks. Never picked automatically. */
+        DENSE_BLOCKS,
+        /** Every node gathers the links entering it from a compressed sparse row right before it is activated. */
+        LEVEL_ROWS
+    }
+
+    /** The maximum number of distinct topologies that are kept compiled. */
+    private static final int CACHE_CAPACITY = 1024;
+
+    /** The fraction of the possible links between two layers that must exist for them to be evaluated as a block. */
+    private static final double MIN_DENSE_BLOCK_DENSITY = 0.8;
+
+    /** The fewest links between two layers worth evaluating as a block. */
+    private static final int MIN_DENSE_BLOCK_LINKS = 16;
+
+    /** The fewest nodes a network must have before it is evaluated as compressed sparse rows. */
+    static final int MIN_LEVEL_ROWS_NODES = 128;
+
+    /**
+     * The fewest forward links per node a network must have before it is evaluated as compressed sparse rows. Grown
+     * networks of 137 to 2037 nodes had 3 to 4.3 and ran at 0.83-1.0x as rows, while layered networks of 300 to 1900
+     * nodes with 4 to 12 ran at 0.88-1.14x. Below 128 nodes rows ran at 0.82-1.04x whatever the density.
+     */
+    static final int MIN_LEVEL_ROWS_LINKS_PER_NODE = 5;
+
+    /** The total number of nodes. Nodes are given a slot in the order they are activated. */
+    private final int numNodes;
+
+    /** The number of nodes in the input and bias layer, which occupy the first slots and are not squashed. */
+    private final int numUnsquashed;
+
+    /** The slot of each input node. */
+    private final int[] inputSlots;
+
+    /** The slot of the bias node, or -1 if there is none. */
+    private final int biasSlot;
+
+    /** The slot of each output node. */
+    private final int[] outputSlots;
+
+    /** The links leaving the node in slot i are the links from linkStart[i] up to linkStart[i + 1]. */
+    private final int[] linkStart;
+
+    /** The slot each link sends its value to. */
+    private final int[] linkTarget;
+
+    /**
+     * The links entering the node in slot i are the links from rowStart[i] up to rowStart[i + 1], ordered by the slot
+     * they come from. Only used by LEVEL_ROWS, in which case there are no links in linkStart and linkTarget.
+     */
+    private final int[] rowStart;
+
+    /** The slot each link in a row gathers its value from. */
+    private final int[] rowSource;
+
+    /** The number of forward links outside dense blocks. Their weights come first in a network's weight vector. */
+    private final int numSparse;
+
+    /** The memory slot each recurrent link reads the previous value of its input from. */
+    private final int[] recurrentSource;
+
+    /** The slot each recurrent link sends its value to. */
+    private final int[] recurrentTarget;
+
+    /** The slot of the node whose value is remembered in each memory slot. */
+    private final int[] memorySlots;
+
+    /**
+     * Whether the node in each slot is an output whose value only matters for how it ranks against the other outputs,
+     * which is the case for every output if no node reads from any of them. The sigmoid never decreases, so ranking
+     * such outputs by their sums is enough.
+     */
+    private final boolean[] onlyRanked;
+
+    /**
+     * Dense block i links every node in the slots from blockSourceStart[i] up to blockSourceEnd[i], which make up one
+     * layer, to every node in the slots from blockTargetStart[i] up to blockTargetEnd[i], which make up a later one.
+     * Blocks are ordered by the slot their sources end at, which is when they are evaluated.
+     */
+    private final int[] blockSourceStart;
+    private final int[] blockSourceEnd;
+    private final int[] blockTargetStart;
+    private final int[] blockTargetEnd;
+
+    /** Where each block's weights start in a network's weight vector, a row of sources for each target. */
+    private final int[] blockWeightStart;
+
+    /** The length of a network's weight vector, counting a zero for every missing link in a dense block. */
+    private final int numWeights;
+
+    /** Where each link's weight is found in a network's weight vector, in the order the links were canonicalized. */
+    private final int[] weightOrder;
+
+    /** The engine the forward links are evaluated with, never AUTOMATIC. */
+    private final Engine engine;
+
+    /**
+     * Compiles the supplied topology.
+     * @param topology The topology to compile.
+     * @param engine How the forward links should be evaluated.
+     */
+    private Phenotype(Topology topology, Engine engine) {
+        int[] nodes = topology.nodes;
+        int[] links = topology.links;
+        numNodes = nodes.length / 2;
+
+        // The topology lists the nodes in activation order already, so each node's slot is simply its position and
+        // the nodes on a layer occupy consecutive slots.
+        Map<Integer, Integer> slotById = new HashMap<>();
+        int[] layerStart = new int[numNodes];
+        int[] layerEnd = new int[numNodes];
+        int unsquashed = 0;
+        for(int slot = 0; slot < numNodes; slot++) {
+            slotById.put(nodes[2 * slot], slot);
+            if(nodes[2 * slot + 1] == 0) {
+                unsquashed++;
+            }
+            boolean newLayer = slot == 0 || nodes[2 * slot + 1] != nodes[2 * slot - 1];
+            layerStart[slot] = newLayer ? slot : layerStart[slot - 1];
+        }
+        for(int slot = numNodes - 1; slot >= 0; slot--) {
+            layerEnd[slot] = slot == numNodes - 1 || layerStart[slot + 1] != layerStart[slot]
+                    ? slot + 1 : layerEnd[slot + 1];
+        }
+        numUnsquashed = unsquashed;
+
+        inputSlots = new int[topology.numInputs];
+        for(int i = 0; i < inputSlots.length; i++) {
+            inputSlots[i] = slotById.get(i);
+        }
+        biasSlot = slotById.getOrDefault(-1, -1);
+        outputSlots = new int[topology.numOutputs];
+        for(int i = 0; i < outputSlots.length; i++) {
+            outputSlots[i] = slotById.get(topology.numInputs + i);
+        }
+
+        // Recurrent links are set aside, and each node they leave from is given a memory slot. If dense blocks were
+        // asked for, the forward links between each pair of layers are counted to find the pairs that are dense
+        // enough to be worth evaluating as a block.
+        int numLinks = links.length / 3;
+        int[] sources = new int[numLinks];
+        int[] targets = new int[numLinks];
+        boolean[] recurrent = new boolean[numLinks];
+        int[] memoryBySlot = new int[numNodes];
+        Arrays.fill(memoryBySlot, -1);
+        int memorySize = 0;
+        int numForward = 0;
+        Map<Long, Integer> linksBetween = new HashMap<>();
+        for(int i = 0; i < numLinks; i++) {
+            sources[i] = slotById.get(links[3 * i + 1]);
+            targets[i] = slotById.get(links[3 * i + 2]);
+            recurrent[i] = nodes[2 * targets[i] + 1] <= nodes[2 * sources[i] + 1];
+            if(recurrent[i]) {
+                if(memoryBySlot[sources[i]] == -1) {
+                    memoryBySlot[sources[i]] = memorySize++;
+                }
+            } else {
+                numForward++;
+                if(engine == Engine.DENSE_BLOCKS) {
+                    linksBetween.merge(layerPair(layerStart, sources[i], targets[i]), 1, Integer::sum);
+                }
+            }
+        }
+
+        // Large networks whose nodes gather many links each are gathered as rows.
+        if(engine == Engine.AUTOMATIC) {
+            engine = numNodes >= MIN_LEVEL_ROWS_NODES && numForward >= MIN_LEVEL_ROWS_LINKS_PER_NODE * numNodes
+                    ? Engine.LEVEL_ROWS : Engine.SPARSE;
+        }
+        this.engine = engine;
+        boolean levelRows = engine == Engine.LEVEL_ROWS;
+
+        // Ordering the pairs by their source layer orders the blocks by when they can be evaluated.
+        List<Long> densePairs = new ArrayList<>();
+        for(Map.Entry<Long, Integer> entry : linksBetween.entrySet()) {
+            long pair = entry.getKey();
+            int sourceWidth = layerEnd[(int) (pair >>> 32)] - (int) (pair >>> 32);
+            int targetWidth = layerEnd[(int) pair] - (int) pair;
+            int count = entry.getValue();
+            if(count >= MIN_DENSE_BLOCK_LINKS && count >= MIN_DENSE_BLOCK_DENSITY * sourceWidth * targetWidth) {
+                densePairs.add(pair);
+            }
+        }
+        Collections.sort(densePairs);
+        Map<Long, Integer> blockByPair = new HashMap<>();
+        int numBlocks = densePairs.size();
+        blockSourceStart = new int[numBlocks];
+        blockSourceEnd = new int[numBlocks];
+        blockTargetStart = new int[numBlocks];
+        blockTargetEnd = new int[numBlocks];
+        blockWeightStart = new int[numBlocks];
+        for(int block = 0; block < numBlocks; block++) {
+            long pair = densePairs.get(block);
+            blockByPair.put(pair, block);
+            blockSourceStart[block] = (int) (pair >>> 32);
+            blockSourceEnd[block] = layerEnd[blockSourceStart[block]];
+            blockTargetStart[block] = (int) pair;
+            blockTargetEnd[block] = layerEnd[blockTargetStart[block]];
+        }
+
+        // Group the remaining forward links by the slot they leave from with a counting sort.
+        int[] blockOf = new int[numLinks];
+        int sparse = 0;
+        int numRecurrent = 0;
+        int[] bySource = new int[numNodes + 1];
+        for(int i = 0; i < numLinks; i++) {
+            blockOf[i] = recurrent[i] || numBlocks == 0
+                    ? -1 : blockByPair.getOrDefault(layerPair(layerStart, sources[i], targets[i]), -1);
+            if(recurrent[i]) {
+                numRecurrent++;
+            } else if(blockOf[i] == -1) {
+                bySource[sources[i] + 1]++;
+                sparse++;
+            }
+        }
+        for(int slot = 0; slot < numNodes; slot++) {
+            bySource[slot + 1] += bySource[slot];
+        }
+        numSparse = sparse;
+
+        memorySlots = new int[memorySize];
+        for(int slot = 0; slot < numNodes; slot++) {
+            if(memoryBySlot[slot] != -1) {
+                memorySlots[memoryBySlot[slot]] = slot;
+            }
+        }
+
+        // The weight vector holds the forward links outside blocks, then the recurrent links, then every block a row
+        // at a time.
+        int weightEnd = numSparse + numRecurrent;
+        for(int block = 0; block < numBlocks; block++) {
+            blockWeightStart[block] = weightEnd;
+            weightEnd += (blockSourceEnd[block] - blockSourceStart[block])
+                    * (blockTargetEnd[block] - blockTargetStart[block]);
+        }
+        numWeights = weightEnd;
+
+        int[] next = Arrays.copyOf(bySource, numNodes);
+        int[] sortedBySource = new int[numSparse];
+        recurrentSource = new int[numRecurrent];
+        recurrentTarget = new int[numRecurrent];
+        weightOrder = new int[numLinks];
+        numRecurrent = 0;
+        for(int i = 0; i < numLinks; i++) {
+            if(recurrent[i]) {
+                recurrentSource[numRecurrent] = memoryBySlot[sources[i]];
+                recurrentTarget[numRecurrent] = targets[i];
+                weightOrder[i] = numSparse + numRecurrent++;
+            } else if(blockOf[i] != -1) {
+                int block = blockOf[i];
+                int width = blockSourceEnd[block] - blockSourceStart[block];
+                weightOrder[i] = blockWeightStart[block] + (targets[i] - blockTargetStart[block]) * width
+                        + sources[i] - blockSourceStart[block];
+            } else {
+                int position = next[sources[i]]++;
+                sortedBySource[position] = i;
+                weightOrder[i] = position;
+            }
+        }
+
+        onlyRanked = new boolean[numNodes];
+        for(int slot : outputSlots) {
+            onlyRanked[slot] = true;
+        }
+        boolean outputsRead = false;
+        for(int source : sources) {
+            outputsRead |= onlyRanked[source];
+        }
+        if(outputsRead) {
+            // Ranking some outputs by their sums and others by their squashed values would not be fair.
+            Arrays.fill(onlyRanked, false);
+        }
+
+        if(levelRows) {
+            // Regroup the links by the slot they enter. Going through them by source keeps each row in that order.
+            linkStart = new int[numNodes + 1];
+            linkTarget = new int[0];
+            rowStart = new int[numNodes + 1];
+            rowSource = new int[numSparse];
+            for(int i : sortedBySource) {
+                rowStart[targets[i] + 1]++;
+            }
+            for(int slot = 0; slot < numNodes; slot++) {
+                rowStart[slot + 1] += rowStart[slot];
+            }
+            int[] nextRow = Arrays.copyOf(rowStart, numNodes);
+            for(int i : sortedBySource) {
+                int position = nextRow[targets[i]]++;
+                rowSource[position] = sources[i];
+                weightOrder[i] = position;
+            }
+        } else {
+            linkStart = bySource;
+            linkTarget = new int[numSparse];
+            rowStart = new int[numNodes + 1];
+            rowSource = new int[0];
+            for(int position = 0; position < numSparse; position++) {
+                linkTarget[position] = targets[sortedBySource[position]];
+            }
+        }
+    }
+
+    /**
+     * Returns a key for the pair of layers a forward link goes between: the first slot of each layer.
+     */
+    private static long layerPair(int[] layerStart, int source, int target) {
+        return ((long) layerStart[source] << 32) | layerStart[target];
+    }
+
+    /**
+     * Compiles the supplied network without looking in or adding to the cache, e.g. to compare how fast it is
+     * evaluated by each engine.
+     * @param network The network to compile.
+     * @param engine How the forward links should be evaluated.
+     * @return A new phenotype for the network's topology.
+     */
+    static Phenotype compileUncached(Network network, Engine engine) {
+        return new Phenotype(new Topology(network, liveLinks(network)), engine);
+    }
+
+    /**
+     * Returns the supplied network's weights in the order this phenotype expects them. The network must have the
+     * topology this phenotype was compiled from.
+     * @param network The network to extract the weights of.
+     * @return The network's weight vector.
+     */
+    double[] weightsOf(Network network) {
+        return weightsOf(network, liveLinks(network));
+    }
+
+    /**
+     * Returns the supplied network's weights in the order this phenotype expects them. The network must have the
+     * topology this phenotype was compiled from.
+     * @param network The network to extract the weights of.
+     * @param links The links of the network that can affect its outputs, as returned by liveLinks.
+     * @return The network's weight vector.
+     */
+    double[] weightsOf(Network network, int[] links) {
+        double[] weights = new double[numWeights];
+        for(int i = 0; i < links.length; i++) {
+            weights[weightOrder[i]] = network.getWeight(links[i]);
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the supplied network's weights in the order this phenotype expects them, rounded to floats for single
+     * precision evaluation.
+     * @param network The network to extract the weights of.
+     * @param links The links of the network that can affect its outputs, as returned by liveLinks.
+     * @return The network's weight vector.
+     */
+    float[] floatWeightsOf(Network network, int[] links) {
+        double[] weights = weightsOf(network, links);
+        float[] floatWeights = new float[weights.length];
+        for(int i = 0; i < weights.length; i++) {
+            floatWeights[i] = (float) weights[i];
+        }
+        return floatWeights;
+    }
+
+    /**
+     * Returns the number of nodes that are evaluated, i.e. the inputs, the bias and every node that can affect an
+     * output.
+     * @return The number of nodes that are evaluated.
+     */
+    int getNumNodes() {
+        return numNodes;
+    }
+
+    /**
+     * Returns the engine this phenotype's forward links are evaluated with. AUTOMATIC is never returned, only the
+     * engine it picked.
+     * @return The engine this phenotype's forward links are evaluated with.
+     */
+    Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the number of pairs of layers that are evaluated as dense blocks, which is 0 unless they were asked for.
+     * @return The number of dense blocks.
+     */
+    int getNumBlocks() {
+        return blockSourceStart.length;
+    }
+
+    /**
+     * Returns the number of values a memory must hold to evaluate this phenotype.
+     * @return The number of nodes that send a value over a recurrent link.
+     */
+    int getMemorySize() {
+        return memorySlots.length;
+    }
+
+    /**
+     * Feeds the supplied inputs through this phenotype.
+     * @param weights The weight vector of the network being evaluated.
+     * @param inputValues A value for each input node.
+     * @param memory The values of the nodes in each memory slot on the previous step, which are replaced by this
+     *               step's values.
+     * @return The value of each output node.
+     */
+    double[] feedForward(double[] weights, float[] inputValues, double[] memory) {
+        double[] outputs = new double[outputSlots.length];
+        feedForward(weights, inputValues, memory, new double[numNodes], outputs);
+        return outputs;
+    }
+
+    /**
+     * Feeds the supplied inputs through this phenotype without allocating anything.
+     * @param weights The weight vector of the network being evaluated.
+     * @param inputValues A value for each input node.
+     * @param memory The values of the nodes in each memory slot on the previous step, which are replaced by this
+     *               step's values, or null to pass nothing over recurrent links and remember nothing.
+     * @param values Space for the value of every node. Must hold at least getNumNodes() values.
+     * @param outputs Set to the value of each output node.
+     */
+    void feedForward(double[] weights, float[] inputValues, double[] memory, double[] values, double[] outputs) {
+        activate(weights, inputValues, memory, values, true);
+        for(int i = 0; i < outputSlots.length; i++) {
+            outputs[i] = values[outputSlots[i]];
+        }
+    }
+
+    /**
+     * Feeds the supplied inputs through this phenotype without allocating anything and returns the index of the
+     * largest output. If no node reads from the outputs, they are ranked by their sums, which is cheaper than squashing
+     * them.
+     * @param weights The weight vector of the network being evaluated.
+     * @param inputValues A value for each input node.
+     * @param memory The memory of the network, or null to pass nothing over recurrent links and remember nothing.
+     * @param values Space for the value of every node. Must hold at least getNumNodes() values.
+     * @return The index of the largest output, the first one if several are equally large.
+     */
+    int decide(double[] weights, float[] inputValues, double[] memory, double[] values) {
+        activate(weights, inputValues, memory, values, false);
+        int largest = 0;
+        for(int i = 1; i < outputSlots.length; i++) {
+            if(values[outputSlots[i]] > values[outputSlots[largest]]) {
+                largest = i;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Sets every node's value for the supplied inputs.
+     * @param squashOutputs Whether outputs that are only ranked are squashed. If not, they are left as sums.
+     */
+    private void activate(double[] weights, float[] inputValues, double[] memory, double[] values,
+                          boolean squashOutputs) {
+        Arrays.fill(values, 0, numNodes, 0);
+        for(int i = 0; i < inputSlots.length; i++) {
+            values[inputSlots[i]] = inputValues[i];
+        }
+        if(biasSlot != -1) {
+            values[biasSlot] = Coefficients.BIAS_NODE_LINK_WEIGHT.value;
+        }
+
+        // Recurrent links only ever go to nodes that are squashed, so they can all be summed before anything is.
+        if(memory != null) {
+            for(int link = 0; link < recurrentTarget.length; link++) {
+                values[recurrentTarget[link]] += weights[numSparse + link] * memory[recurrentSource[link]];
+            }
+        }
+
+        // Activate the nodes in order from input -> bias -> hidden -> output, gathering each node's row first. As soon
+        // as the last node of a layer is activated, the blocks leaving that layer are multiplied into the layers they
+        // go to.
+        int block = 0;
+        for(int slot = 0; slot < numNodes; slot++) {
+            double sum = values[slot];
+            for(int link = rowStart[slot]; link < rowStart[slot + 1]; link++) {
+                sum += weights[link] * values[rowSource[link]];
+            }
+            double value = slot < numUnsquashed || !squashOutputs && onlyRanked[slot] ? sum : activationFunction(sum);
+            values[slot] = value;
+            for(int link = linkStart[slot]; link < linkStart[slot + 1]; link++) {
+                values[linkTarget[link]] += weights[link] * value;
+            }
+            for(; block < blockSourceEnd.length && blockSourceEnd[block] == slot + 1; block++) {
+                int width = slot + 1 - blockSourceStart[block];
+                int row = blockWeightStart[block];
+                for(int target = blockTargetStart[block]; target < blockTargetEnd[block]; target++, row += width) {
+                    values[target] += dot(weights, row, values, blockSourceStart[block], width);
+                }
+            }
+        }
+
+        if(memory != null) {
+            for(int i = 0; i < memorySlots.length; i++) {
+                memory[i] = values[memorySlots[i]];
+            }
+        }
+    }
+
+    /**
+     * Feeds the supplied inputs through this phenotype in single precision. Works exactly like the double precision
+     * version, except that every weight and value is a float.
+     * @param weights The weight vector of the network being evaluated, rounded to floats.
+     * @param inputValues A value for each input node.
+     * @param memory The values of the nodes in each memory slot on the previous step, which are replaced by this
+     *               step's values.
+     * @return The value of each output node.
+     */
+    double[] feedForward(float[] weights, float[] inputValues, double[] memory) {
+        double[] outputs = new double[outputSlots.length];
+        feedForward(weights, inputValues, memory, new float[numNodes], outputs);
+        return outputs;
+    }
+
+    /**
+     * Feeds the supplied inputs through this phenotype in single precision without allocating anything.
+     */
+    void feedForward(float[] weights, float[] inputValues, double[] memory, float[] values, double[] outputs) {
+        activate(weights, inputValues, memory, values, true);
+        for(int i = 0; i < outputSlots.length; i++) {
+            outputs[i] = values[outputSlots[i]];
+        }
+    }
+
+    /**
+     * Returns the index of the largest output in single precision without allocating anything.
+     */
+    int decide(float[] weights, float[] inputValues, double[] memory, float[] values) {
+        activate(weights, inputValues, memory, values, false);
+        int largest = 0;
+        for(int i = 1; i < outputSlots.length; i++) {
+            if(values[outputSlots[i]] > values[outputSlots[largest]]) {
+                largest = i;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Sets every node's value for the supplied inputs in single precision.
+     */
+    private void activate(float[] weights, float[] inputValues, double[] memory, float[] values,
+                          boolean squashOutputs) {
+        Arrays.fill(values, 0, numNodes, 0);
+        for(int i = 0; i < inputSlots.length; i++) {
+            values[inputSlots[i]] = inputValues[i];
+        }
+        if(biasSlot != -1) {
+            values[biasSlot] = (float) Coefficients.BIAS_NODE_LINK_WEIGHT.value;
+        }
+
+        if(memory != null) {
+            for(int link = 0; link < recurrentTarget.length; link++) {
+                values[recurrentTarget[link]] += weights[numSparse + link] * (float) memory[recurrentSource[link]];
+            }
+        }
+
+        int block = 0;
+        for(int slot = 0; slot < numNodes; slot++) {
+            float sum = values[slot];
+            for(int link = rowStart[slot]; link < rowStart[slot + 1]; link++) {
+                sum += weights[link] * values[rowSource[link]];
+            }
+            float value = slot < numUnsquashed || !squashOutputs && onlyRanked[slot]
+                    ? sum : (float) activationFunction(sum);
+            values[slot] = value;
+            for(int link = linkStart[slot]; link < linkStart[slot + 1]; link++) {
+                values[linkTarget[link]] += weights[link] * value;
+            }
+            for(; block < blockSourceEnd.length && blockSourceEnd[block] == slot + 1; block++) {
+                int width = slot + 1 - blockSourceStart[block];
+                int row = blockWeightStart[block];
+                for(int target = blockTargetStart[block]; target < blockTargetEnd[block]; target++, row += width) {
+                    values[target] += dot(weights, row, values, blockSourceStart[block], width);
+                }
+            }
+        }
+
+        if(memory != null) {
+            for(int i = 0; i < memorySlots.length; i++) {
+                memory[i] = values[memorySlots[i]];
+            }
+        }
+    }
+
+    /**
+     * Feeds the inputs of several networks with this phenotype through it at once, one lane per network. Every array
+     * is interleaved by lane, e.g. weight i of lane g is found at {@code weights[i * lanes + g]}, so each link becomes
+     * a loop over the lanes that reads and writes consecutive elements, which the JIT can vectorize. Each lane adds up
+     * exactly the same products in exactly the same order as the double precision feedForward, so it produces exactly
+     * the same values.
+     * @param weights The weight vector of each lane's network.
+     * @param lanes The number of lanes.
+     * @param inputValues A value for each input node of each lane.
+     * @param memory The memory of each lane, whose values are replaced by this step's values.
+     * @param values Space for the values of every node of every lane.
+     * @param sums Space for four partial sums for every lane, only used by dense blocks.
+     * @param outputs Set to the value of each output node of each lane.
+     */
+    void feedForward(double[] weights, int lanes, double[] inputValues, double[] memory, double[] values,
+                     double[] sums, double[] outputs) {
+        Arrays.fill(values, 0, numNodes * lanes, 0);
+        for(int i = 0; i < inputSlots.length; i++) {
+            System.arraycopy(inputValues, i * lanes, values, inputSlots[i] * lanes, lanes);
+        }
+        if(biasSlot != -1) {
+            Arrays.fill(values, biasSlot * lanes, (biasSlot + 1) * lanes, Coefficients.BIAS_NODE_LINK_WEIGHT.value);
+        }
+
+        for(int link = 0; link < recurrentTarget.length; link++) {
+            int target = recurrentTarget[link] * lanes;
+            int weight = (numSparse + link) * lanes;
+            int source = recurrentSource[link] * lanes;
+            for(int lane = 0; lane < lanes; lane++) {
+                values[target + lane] += weights[weight + lane] * memory[source + lane];
+            }
+        }
+
+        int block = 0;
+        for(int slot = 0; slot < numNodes; slot++) {
+            int at = slot * lanes;
+            for(int link = rowStart[slot]; link < rowStart[slot + 1]; link++) {
+                int weight = link * lanes;
+                int source = rowSource[link] * lanes;
+                for(int lane = 0; lane < lanes; lane++) {
+                    values[at + lane] += weights[weight + lane] * values[source + lane];
+                }
+            }
+            if(slot >= numUnsquashed) {
+                for(int lane = 0; lane < lanes; lane++) {
+                    values[at + lane] = activationFunction(values[at + lane]);
+                }
+            }
+            for(int link = linkStart[slot]; link < linkStart[slot + 1]; link++) {
+                int weight = link * lanes;
+                int target = linkTarget[link] * lanes;
+                for(int lane = 0; lane < lanes; lane++) {
+                    values[target + lane] += weights[weight + lane] * values[at + lane];
+                }
+            }
+            for(; block < blockSourceEnd.length && blockSourceEnd[block] == slot + 1; block++) {
+                int width = slot + 1 - blockSourceStart[block];
+                int row = blockWeightStart[block];
+                for(int target = blockTargetStart[block]; target < blockTargetEnd[block]; target++, row += width) {
+                    dot(weights, row, values, blockSourceStart[block], width, lanes, sums);
+                    int to = target * lanes;
+                    for(int lane = 0; lane < lanes; lane++) {
+                        values[to + lane] += (sums[lane] + sums[lanes + lane])
+                                + (sums[2 * lanes + lane] + sums[3 * lanes + lane]);
+                    }
+                }
+            }
+        }
+
+        for(int i = 0; i < memorySlots.length; i++) {
+            System.arraycopy(values, memorySlots[i] * lanes, memory, i * lanes, lanes);
+        }
+        for(int i = 0; i < outputSlots.length; i++) {
+            System.arraycopy(values, outputSlots[i] * lanes, outputs, i * lanes, lanes);
+        }
+    }
+
+    /**
+     * Computes the four partial sums of the double precision dot product for every lane at once, adding up the same
+     * products in the same order, so that combining them gives exactly the same result.
+     * @param weights The weights of every lane, interleaved by lane.
+     * @param weight Where the stretch of weights starts.
+     * @param values The values of every lane, interleaved by lane.
+     * @param value Where the stretch of values starts.
+     * @param length The length of both stretches.
+     * @param lanes The number of lanes.
+     * @param sums Set to the four partial sums of each lane, one after the other.
+     */
+    private static void dot(double[] weights, int weight, double[] values, int value, int length, int lanes,
+                            double[] sums) {
+        Arrays.fill(sums, 0, 4 * lanes, 0);
+        for(int i = 0; i < length; i++) {
+            // Products beyond the last multiple of four all go to the first sum, like the scalar version's tail.
+            int sum = i < (length & ~3) ? (i & 3) * lanes : 0;
+            int w = (weight + i) * lanes;
+            int v = (value + i) * lanes;
+            for(int lane = 0; lane < lanes; lane++) {
+                sums[sum + lane] += weights[w + lane] * values[v + lane];
+            }
+        }
+    }
+
+    /**
+     * Returns the dot product of the supplied stretches of weights and values. The loop is unrolled into four
+     * independent sums, so consecutive multiplications do not have to wait on each other.
+     * @param weights The weights to multiply.
+     * @param weight Where the stretch of weights starts.
+     * @param values The values to multiply.
+     * @param value Where the stretch of values starts.
+     * @param length The length of both stretches.
+     * @return The dot product.
+     */
+    private static double dot(double[] weights, int weight, double[] values, int value, int length) {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+        int i = 0;
+        for(; i + 3 < length; i += 4) {
+            sum0 += weights[weight + i] * values[value + i];
+            sum1 += weights[weight + i + 1] * values[value + i + 1];
+            sum2 += weights[weight + i + 2] * values[value + i + 2];
+            sum3 += weights[weight + i + 3] * values[value + i + 3];
+        }
+        for(; i < length; i++) {
+            sum0 += weights[weight + i] * values[value + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * Returns the dot product of the supplied stretches of weights and values in single precision.
+     */
+    private static float dot(float[] weights, int weight, float[] values, int value, int length) {
+        float sum0 = 0;
+        float sum1 = 0;
+        float sum2 = 0;
+        float sum3 = 0;
+        int i = 0;
+        for(; i + 3 < length; i += 4) {
+            sum0 += weights[weight + i] * values[value + i];
+            sum1 += weights[weight + i + 1] * values[value + i + 1];
+            sum2 += weights[weight + i + 2] * values[value + i + 2];
+            sum3 += weights[weight + i + 3] * values[value + i + 3];
+        }
+        for(; i < length; i++) {
+            sum0 += weights[weight + i] * values[value + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * The sigmoid function used by every node that is not an input or the bias.
+     */
+    private static double activationFunction(double value) {
+        return 1.0 / (1.0 + Math.exp(-value));
+    }
+
+    /**
+     * Returns the indices of the links of the supplied network that can affect its outputs in canonical order, i.e.
+     * by innovation number and then endpoints. Disabled links never pass on a value, and neither does a link into a
+     * node that has no enabled path to an output, so both are left out of the phenotype entirely.
+     * <p>
+     * Every forward link goes to a later layer, so walking the enabled links from the last layer back to the first
+     * visits all the forward links leaving a node before the links entering it. A node can then be marked live as soon
+     * as one of its links reaches a live node. Every link entering a live node is kept, so pruning never changes an
+     * output. The links only depend on the network's structure, so a network keeps them until its structure changes.
+     * @param network The network to prune.
+     * @return The indices of the links that can affect an output.
+     */
+    static int[] liveLinks(Network network) {
+        int firstOutput = network.getNumInputs();
+        int lastOutput = firstOutput + network.getNumOutputs();
+        boolean[] liveNodes = new boolean[network.getNumNodes()];
+        Map<Integer, Integer> indexById = new HashMap<>();
+        for(int node = 0; node < network.getNumNodes(); node++) {
+            int id = network.getNodeId(node);
+            indexById.put(id, node);
+            liveNodes[node] = id >= firstOutput && id < lastOutput;
+        }
+
+        List<Integer> enabled = new ArrayList<>();
+        boolean recurrent = false;
+        for(int link = 0; link < network.getNumLinks(); link++) {
+            if(network.isLinkEnabled(link)) {
+                enabled.add(link);
+                int inputLayer = network.getNodeLayer(indexById.get(network.getLinkInput(link)));
+                recurrent |= network.getNodeLayer(indexById.get(network.getLinkOutput(link))) <= inputLayer;
+            }
+        }
+        enabled.sort(Comparator.comparingInt(
+                (Integer link) -> -network.getNodeLayer(indexById.get(network.getLinkInput(link)))));
+
+        // A recurrent link can reach a node that is only found to be live after the walk has passed the link, so walk
+        // again until nothing changes. Feed-forward networks only ever need a single walk.
+        List<Integer> links = new ArrayList<>();
+        boolean[] kept = new boolean[network.getNumLinks()];
+        boolean changed = true;
+        while(changed) {
+            changed = false;
+            for(int link : enabled) {
+                if(!kept[link] && liveNodes[indexById.get(network.getLinkOutput(link))]) {
+                    int input = indexById.get(network.getLinkInput(link));
+                    changed |= recurrent && !liveNodes[input];
+                    liveNodes[input] = true;
+                    kept[link] = true;
+                    links.add(link);
+                }
+            }
+        }
+        links.sort(Comparator.comparingInt(network::getLinkInnovation)
+                .thenComparingInt(network::getLinkInput)
+                .thenComparingInt(network::getLinkOutput));
+        return links.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * The phenotypes recently compiled for the networks of a single training. Networks are compiled while they are
+     * evaluated, on as many threads as there are episodes running, so the cache is thread safe.
+     */
+    static final class Cache {
+        /** The engine every phenotype is compiled for. Guarded by this. */
+        private Engine engine = Engine.AUTOMATIC;
+
+        /** Recently compiled phenotypes by their topology, least recently used first. Guarded by this. */
+        private final Map<Topology, Phenotype> byTopology = new LinkedHashMap<Topology, Phenotype>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Topology, Phenotype> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+
+        /**
+         * Recently compiled phenotypes by the structure hash of a network they were compiled for, least recently used
+         * first, so that a network whose genes are already known is compiled without canonicalizing its topology.
+         * Guarded by this.
+         */
+        private final Map<Long, Compiled> byStructure = new LinkedHashMap<Long, Compiled>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Compiled> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+
+        /**
+         * Changes the engine every phenotype compiled from now on is evaluated with. Phenotypes compiled for another
+         * engine are forgotten, but networks already compiled keep theirs.
+         * @param engine The engine to compile phenotypes for.
+         */
+        synchronized void setEngine(Engine engine) {
+            if(engine != this.engine) {
+                this.engine = engine;
+                byTopology.clear();
+                byStructure.clear();
+            }
+        }
+
+        /**
+         * Returns the engine every phenotype compiled from now on is evaluated with.
+         * @return The engine phenotypes are compiled for.
+         */
+        synchronized Engine getEngine() {
+            return engine;
+        }
+
+        /**
+         * Returns the phenotype for the supplied network's topology, compiling it if no network with the same
+         * topology has been compiled recently.
+         * @param network The network to compile.
+         * @param liveLinks The links of the network that can affect its outputs, as returned by liveLinks.
+         * @return The phenotype shared by every network of the training with the same topology.
+         */
+        Phenotype compile(Network network, int[] liveLinks) {
+            return compile(network, liveLinks, network.getStructureHash());
+        }
+
+        /**
+         * Returns the phenotype for the supplied network's topology. A network whose genes are exactly those of the
+         * last network compiled with the same structure hash is given its phenotype straight away. Otherwise, which
+         * includes two structures whose hashes collide, the topology is canonicalized and looked up.
+         * @param network The network to compile.
+         * @param liveLinks The links of the network that can affect its outputs, as returned by liveLinks.
+         * @param structureHash The structure hash of the network.
+         * @return The phenotype shared by every network of the training with the same topology.
+         */
+        Phenotype compile(Network network, int[] liveLinks, long structureHash) {
+            synchronized(this) {
+                Compiled compiled = byStructure.get(structureHash);
+                if(compiled != null && compiled.matches(network)) {
+                    return compiled.phenotype;
+                }
+            }
+
+            Topology topology = new Topology(network, liveLinks);
+            Compiled compiled = new Compiled(network);
+            synchronized(this) {
+                Phenotype phenotype = byTopology.get(topology);
+                if(phenotype == null) {
+                    phenotype = new Phenotype(topology, engine);
+                    byTopology.put(topology, phenotype);
+                }
+                compiled.phenotype = phenotype;
+                byStructure.put(structureHash, compiled);
+                return phenotype;
+            }
+        }
+    }
+
+    /**
+     * A phenotype along with the genes, leaving out the weights, of the network it was compiled for. A structure hash
+     * is no proof of the same structure, so a network is only given the phenotype if its genes match.
+     */
+    private static final class Compiled {
+        /** The number of inputs and outputs, the (id, layer) of every node and the (innovation number, input id,
+         *  output id, enabled) of every link, in the order the network keeps them. */
+        private final int[] genes;
+        private Phenotype phenotype;
+
+        private Compiled(Network network) {
+            int numNodes = network.getNumNodes();
+            int numLinks = network.getNumLinks();
+            genes = new int[2 + 2 * numNodes + 4 * numLinks];
+            genes[0] = network.getNumInputs();
+            genes[1] = network.getNumOutputs();
+            int at = 2;
+            for(int node = 0; node < numNodes; node++) {
+                genes[at++] = network.getNodeId(node);
+                genes[at++] = network.getNodeLayer(node);
+            }
+            for(int link = 0; link < numLinks; link++) {
+                genes[at++] = network.getLinkInnovation(link);
+                genes[at++] = network.getLinkInput(link);
+                genes[at++] = network.getLinkOutput(link);
+                genes[at++] = network.isLinkEnabled(link) ? 1 : 0;
+            }
+        }
+
+        /**
+         * Returns true if the supplied network has exactly these genes, in the same order.
+         */
+        private boolean matches(Network network) {
+            int numNodes = network.getNumNodes();
+            int numLinks = network.getNumLinks();
+            if(genes.length != 2 + 2 * numNodes + 4 * numLinks || genes[0] != network.getNumInputs()
+                    || genes[1] != network.getNumOutputs()) {
+                return false;
+            }
+            int at = 2;
+            for(int node = 0; node < numNodes; node++) {
+                if(genes[at++] != network.getNodeId(node) || genes[at++] != network.getNodeLayer(node)) {
+                    return false;
+                }
+            }
+            for(int link = 0; link < numLinks; link++) {
+                if(genes[at++] != network.getLinkInnovation(link) || genes[at++] != network.getLinkInput(link)
+                        || genes[at++] != network.getLinkOutput(link)
+                        || genes[at++] != (network.isLinkEnabled(link) ? 1 : 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The canonical form of the part of a network's topology that can affect its outputs: its inputs, bias and live
+     * nodes in activation order, i.e. by layer and then by id, and its live links in canonical order. Networks that
+     * only differ in their dead ends share a phenotype.
+     */
+    private static final class Topology {
+        private final int numInputs;
+        private final int numOutputs;
+
+        /** Pairs of (id, layer) for every input, the bias and every live node. */
+        private final int[] nodes;
+
+        /** Triples of (innovation number, input id, output id) for every live link. */
+        private final int[] links;
+
+        private final int hash;
+
+        private Topology(Network network, int[] sortedLinks) {
+            numInputs = network.getNumInputs();
+            numOutputs = network.getNumOutputs();
+
+            // A node is live if it is an output or a live link leaves it.
+            Set<Integer> liveIds = new HashSet<>();
+            for(int output = 0; output < numOutputs; output++) {
+                liveIds.add(numInputs + output);
+            }
+            for(int link : sortedLinks) {
+                liveIds.add(network.getLinkInput(link));
+            }
+
+            // The network keeps its nodes in activation order, so no sort is needed here. Inputs and the bias are
+            // kept even when they are dead, since every network of the same shape is fed the same inputs.
+            int length = 0;
+            int[] kept = new int[2 * network.getNumNodes()];
+            for(int position = 0; position < network.getNumNodes(); position++) {
+                int node = network.getNodeInOrder(position);
+                if(liveIds.contains(network.getNodeId(node)) || network.getNodeLayer(node) == 0) {
+                    kept[length++] = network.getNodeId(node);
+                    kept[length++] = network.getNodeLayer(node);
+                }
+            }
+            nodes = Arrays.copyOf(kept, length);
+
+            links = new int[3 * sortedLinks.length];
+            for(int i = 0; i < sortedLinks.length; i++) {
+                links[3 * i] = network.getLinkInnovation(sortedLinks[i]);
+                links[3 * i + 1] = network.getLinkInput(sortedLinks[i]);
+                links[3 * i + 2] = network.getLinkOutput(sortedLinks[i]);
+            }
+
+            hash = 31 * (31 * (31 * numInputs + numOutputs) + Arrays.hashCode(nodes)) + Arrays.hashCode(links);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(obj instanceof Topology) {
+                Topology other = (Topology) obj;
+                return other.hash == hash && other.numInputs == numInputs && other.numOutputs == numOutputs
+                        && Arrays.equals(other.nodes, nodes) && Arrays.equals(other.links, links);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
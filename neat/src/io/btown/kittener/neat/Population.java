@@ -0,0 +1,259 @@
+package io.btown.kittener.neat;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class Population {
+    private final int NUM_AGENTS;
+    private final int TARGET_NUM_SPECIES;
+    private int generation;
+    private final List<Species> speciesList;
+    private List<Network> population;
+    private final GenomeArena[] arenas;
+    private int activeArena;
+    private final EvolutionContext context;
+
+    /** Where the report of each generation's speciation goes. */
+    private Consumer<String> log;
+
+    public Population(int numAgents, int input, int output) {
+        this(new EvolutionContext(), numAgents, input, output, false);
+    }
+
+    /**
+     * @param context The training this population belongs to. Populations with separate contexts are independent.
+     * @param packGenomes Whether every generation's genomes should be packed into contiguous storage, which is
+     *                    recycled between generations. Keeps the heap flat for very large populations.
+     */
+    public Population(EvolutionContext context, int numAgents, int input, int output, boolean packGenomes) {
+        this.context = context;
+        NUM_AGENTS = numAgents;
+        TARGET_NUM_SPECIES = (int) Math.ceil(0.05 * NUM_AGENTS);
+        generation = 0;
+        speciesList = new ArrayList<>();
+        population = new ArrayList<>();
+
+        for(int i = 0; i < numAgents; i++) {
+            population.add(new Network(context, input, output));
+        }
+
+        arenas = packGenomes ? new GenomeArena[] {new GenomeArena(), new GenomeArena()} : null;
+        activeArena = 0;
+        log = report -> { };
+        packGenomes();
+    }
+
+    /**
+     * Sets where the report of what happened during speciation goes, once a generation. Each report is passed on
+     * whole, so the reports of populations trained side by side never interleave. Reports are dropped by default.
+     * @param log Receives each generation's report, several lines each ending in a line break.
+     */
+    public void setLog(Consumer<String> log) {
+        this.log = log;
+    }
+
+    public void assignFitness(int index, double fitness) {
+        population.get(index).setFitness(fitness);
+    }
+
+    public void naturalSelection() {
+        // The report shows what happens during speciation every generation. It could be extended with outputs for each
+        // stage of natural selection.
+        StringBuilder report = new StringBuilder();
+        report.append("================================================================\n");
+        report.append("Generation: ").append(generation).append('\n');
+        speciate();
+        report.append("Compatibility Threshold: ").append(context.getCompatThreshold()).append('\n');
+        report.append("Total Number of Species: ").append(speciesList.size()).append('\n');
+        speciesFitnessAndStaleness();
+        speciesList.forEach(species -> {
+            report.append(String.format("Species %3d -> Orgs: %3d  Fit:%12.2f  Stale:%2d\n",
+                    species.id, species.getOrganisms().size(), species.getAvgFitness(), species.getStaleness()));
+        });
+        log.accept(report.toString());
+        removeStaleSpecies();
+        cullSpecies();
+        adjustCompatibilityThreshold();
+
+        List<Species> breeding = new ArrayList<>();
+        speciesList.forEach(species -> {
+            if(!species.getOrganisms().isEmpty()) breeding.add(species);
+        });
+
+        if(breeding.isEmpty()) {
+            // Handle the special case if ALL species are stale: keep the fittest organisms and fill the rest of the
+            // population with mutated clones of them.
+            int numToKeep = (int) Math.ceil(population.size() * context.get(Coefficients.CULL_THRESH));
+            Selection.keepFittest(population, numToKeep);
+
+            List<Network> clones = new ArrayList<>();
+            ParentSelector selector = context.getParentSelector();
+            selector.prepare(population);
+            for(int i = population.size(); i < NUM_AGENTS; i++) {
+                clones.add(new Network(selector.pick(context.getRandom())));
+            }
+            context.getWeightMutator().mutate(clones);
+            clones.forEach(Network::mutateStructure);
+            population.addAll(clones);
+        } else {
+            // Every baby is allotted to a species before any are bred, so none have to be thrown away afterwards.
+            population.clear();
+            int[] quotas = allocateOffspring(breeding);
+            for(int i = 0; i < breeding.size(); i++) {
+                breeding.get(i).reproduce(quotas[i]);
+                population.addAll(breeding.get(i).getOrganisms());
+            }
+        }
+
+        packGenomes();
+
+        // Remove all of this generation's species so that we can create next generations species for the adjusted
+        // compatibility values.
+//        speciesList.clear();
+    }
+
+    /**
+     * Packs every network that is still in use into the arena that is not active and makes it the active one. The
+     * previously active arena is cleared and reused next generation, when none of its networks are in use anymore.
+     */
+    private void packGenomes() {
+        if(arenas == null) {
+            return;
+        }
+
+        List<Network> inUse = new ArrayList<>(population);
+        speciesList.forEach(species -> inUse.add(species.getCompatibilityNetwork()));
+
+        GenomeArena next = arenas[1 - activeArena];
+        next.clear();
+        next.pack(inUse);
+        activeArena = 1 - activeArena;
+    }
+
+    private void speciate() {
+        // Clear each species of its previous list of organisms.
+        speciesList.forEach(species -> species.getOrganisms().clear());
+
+        for(Network n : population) {
+            boolean found = false;
+            for(Species s : speciesList) {
+                if(n.isCompatibleTo(s.getCompatibilityNetwork())) {
+                    s.addOrganism(n);
+                    found = true;
+                    break;
+                }
+            }
+
+            if(!found) {
+                speciesList.add(new Species(context, n));
+            }
+        }
+    }
+
+    private void adjustCompatibilityThreshold() {
+        double threshold = context.getCompatThreshold();
+        double modifier = context.get(Coefficients.COMPAT_MOD);
+        if(speciesList.size() < TARGET_NUM_SPECIES) threshold -= modifier;
+        if(speciesList.size() > TARGET_NUM_SPECIES) threshold += modifier;
+        context.setCompatThreshold(Math.max(threshold, modifier));
+    }
+
+    private void speciesFitnessAndStaleness() {
+        speciesList.forEach(species -> {
+            species.shareFitness();
+            species.setStaleness();
+        });
+    }
+
+    private void removeStaleSpecies() {
+        List<Species> staleSpecies = speciesList.parallelStream()
+                                        .filter(species -> species.getStaleness() >= context.get(Coefficients.STALENESS_THRESH))
+                                        .collect(Collectors.toList());
+
+        speciesList.removeAll(staleSpecies);
+    }
+
+    /**
+     * Splits the next generation between the supplied species in proportion to their average fitness.
+     * @param breeding The species that have organisms to breed from.
+     * @return The number of babies each species should produce, in the same order.
+     */
+    private int[] allocateOffspring(List<Species> breeding) {
+        double[] avgFitness = new double[breeding.size()];
+        for(int i = 0; i < avgFitness.length; i++) {
+            avgFitness[i] = breeding.get(i).getAvgFitness();
+        }
+        return allocateOffspring(avgFitness, NUM_AGENTS);
+    }
+
+    /**
+     * Splits a number of babies between species in proportion to their average fitness. Each species first gets the
+     * whole part of its share, then the babies left over go one each to the species with the largest fractional
+     * parts, so the quotas always add up to exactly the number of babies. A species with a negative average fitness
+     * is treated as having scored nothing, so no quota is ever negative.
+     * @param avgFitness The average fitness of each species.
+     * @param numBabies The number of babies to split.
+     * @return The number of babies each species should produce, in the same order.
+     */
+    static int[] allocateOffspring(double[] avgFitness, int numBabies) {
+        int numSpecies = avgFitness.length;
+        double totalFitness = 0;
+        for(double fitness : avgFitness) {
+            totalFitness += Math.max(fitness, 0);
+        }
+
+        int[] quotas = new int[numSpecies];
+        double[] remainders = new double[numSpecies];
+        int allocated = 0;
+        for(int i = 0; i < numSpecies; i++) {
+            // If no species scored anything, they all get an equal share.
+            double share = totalFitness > 0
+                    ? numBabies * Math.max(avgFitness[i], 0) / totalFitness
+                    : (double) numBabies / numSpecies;
+            quotas[i] = (int) share;
+            remainders[i] = share - quotas[i];
+            allocated += quotas[i];
+        }
+
+        // Fewer babies than species are left over. Ties go to the older species.
+        for(int left = numBabies - allocated; left > 0; left--) {
+            int largest = 0;
+            for(int i = 1; i < numSpecies; i++) {
+                if(remainders[i] > remainders[largest]) largest = i;
+            }
+            quotas[largest]++;
+            remainders[largest] = -1;
+        }
+        return quotas;
+    }
+
+    private void cullSpecies() {
+        speciesList.forEach(Species::cullOrganisms);
+    }
+
+    /**
+     * Returns the id of the species the organism at the supplied index belongs to, or 0 if it has none yet.
+     * @param index The index of the organism.
+     * @return The id of the organism's species.
+     */
+    public int getSpeciesId(int index) {
+        return population.get(index).getSpeciesId();
+    }
+
+    public double[] getOutput(int index, float[] vision) {
+        return population.get(index).feedForward(vision);
+    }
+
+    public List<Network> getNetworks() {
+        return Collections.unmodifiableList(population);
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public void incrementGeneration() {
+        generation++;
+    }
+}
@@ -0,0 +1,91 @@
+package io.btown.kittener.neat;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Selection of the fittest networks without sorting them. The fitness values are copied into a primitive array once,
+ * and a quickselect partitions that array and the list together in place, so keeping the best k of n networks takes
+ * O(n) time and no intermediate lists.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+final class Selection {
+    private Selection() {
+    }
+
+    /**
+     * Shrinks the supplied list to its fittest networks, with the single fittest first. The order of the others is
+     * unspecified. Ties at the cut are broken arbitrarily but deterministically.
+     * @param networks The networks to select from. Must support set and removal, like an ArrayList.
+     * @param count The number of networks to keep.
+     */
+    static void keepFittest(List<Network> networks, int count) {
+        int size = networks.size();
+        if(size == 0 || count <= 0) {
+            networks.clear();
+            return;
+        }
+
+        double[] fitness = new double[size];
+        for(int i = 0; i < size; i++) {
+            fitness[i] = networks.get(i).getFitness();
+        }
+
+        if(count < size) {
+            select(networks, fitness, count);
+            networks.subList(count, size).clear();
+        }
+
+        int best = 0;
+        for(int i = 1; i < networks.size(); i++) {
+            if(fitness[i] > fitness[best]) best = i;
+        }
+        Collections.swap(networks, 0, best);
+    }
+
+    /**
+     * Rearranges the list and its fitness values so that the first count entries are the fittest. Many networks often
+     * share a score, so the range is split three ways around the pivot to keep runs of equal fitness linear.
+     */
+    private static void select(List<Network> networks, double[] fitness, int count) {
+        int low = 0;
+        int high = fitness.length - 1;
+        while(low < high) {
+            // Median of the first, middle and last fitness.
+            double a = fitness[low];
+            double b = fitness[(low + high) >>> 1];
+            double c = fitness[high];
+            double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+            // Afterwards [low, fitter) is fitter than the pivot, [fitter, i) equal to it and (weaker, high] weaker.
+            int fitter = low;
+            int weaker = high;
+            int i = low;
+            while(i <= weaker) {
+                if(fitness[i] > pivot) {
+                    swap(networks, fitness, i++, fitter++);
+                } else if(fitness[i] < pivot) {
+                    swap(networks, fitness, i, weaker--);
+                } else {
+                    i++;
+                }
+            }
+
+            if(count < fitter) {
+                high = fitter - 1;
+            } else if(count > weaker + 1) {
+                low = weaker + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(List<Network> networks, double[] fitness, int i, int j) {
+        double temp = fitness[i];
+        fitness[i] = fitness[j];
+        fitness[j] = temp;
+        Collections.swap(networks, i, j);
+    }
+}
@@ -1,79 +1,67 @@
 package io.btown.kittener.neat;
 
-import com.badlogic.gdx.graphics.Color;
-
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 public class Species {
-    static int idCounter;
-    static List<Color> takenColors = new ArrayList<>();
-    static {
-        takenColors.add(Color.WHITE);
-        idCounter = 1;
-    }
     public final int id;
-    private Color color;
+    private final EvolutionContext context;
     private List<Network> organisms;
     private final Network compatibilityNetwork;
     private double avgFitness;
     private double bestAvgFitness;
     private int staleness;
 
-    public Species(Network network) {
-        id = idCounter++;
+    public Species(EvolutionContext context, Network network) {
+        this.context = context;
+        id = context.nextSpeciesId();
         organisms = new ArrayList<>();
         this.addOrganism(network);
         this.compatibilityNetwork = new Network(network);
-        Random random = new Random();
-        do {
-            float red = random.nextFloat();
-            float blue = random.nextFloat();
-            float green = random.nextFloat();
-            color = new Color(red, blue, green, 1);
-        } while(colorAlreadyChosen(color));
-        takenColors.add(color);
-        network.setColor(color);
+        network.setSpeciesId(id);
         avgFitness = 0.0;
         bestAvgFitness = avgFitness;
         staleness = 0;
     }
 
-    private boolean colorAlreadyChosen(Color chosen) {
-        AtomicBoolean alreadyTaken = new AtomicBoolean(false);
-        takenColors.forEach(taken -> {
-            float diff = Math.abs(taken.r - chosen.r + taken.b - chosen.b + taken.g - chosen.g);
-            if(diff <= 0.001f) alreadyTaken.set(true);
-        });
-        return alreadyTaken.get();
-    }
-
+    /**
+     * Replaces this species' organisms with the supplied number of babies. The champion is cloned unchanged, and the
+     * weights of every other baby are mutated together in a single pass.
+     * @param numBabies The number of babies to produce.
+     */
     public void reproduce(long numBabies) {
         List<Network> babies = new ArrayList<>();
+        List<Network> mutants = new ArrayList<>();
+        Random random = context.getRandom();
+        ParentSelector selector = context.getParentSelector();
         Network baby;
 
         // Perform direct clone of the best performing organism. Can remove this and add 1 to loop if wanted.
         if(!organisms.isEmpty() && numBabies > 0) {
             baby = new Network(organisms.get(0));
             baby.setFitness(0.0);
-            baby.setColor(color);
+            baby.setSpeciesId(id);
             babies.add(baby);
         }
 
+        if(!organisms.isEmpty()) {
+            selector.prepare(organisms);
+        }
         for(int i = 1; i < numBabies && !organisms.isEmpty(); i++) {
-            if(Math.random() < Coefficients.CROSSOVER_THRESH.value) {
-                Network parent1 = organisms.get(new Random().nextInt(organisms.size()));
-                Network parent2 = organisms.get(new Random().nextInt(organisms.size()));
+            if(random.nextDouble() < context.get(Coefficients.CROSSOVER_THRESH)) {
+                Network parent1 = selector.pick(random);
+                Network parent2 = selector.pick(random);
                 baby = parent1.crossover(parent2);
             } else {
-                baby = new Network(organisms.get(new Random().nextInt(organisms.size())));
+                baby = new Network(selector.pick(random));
             }
-            baby.mutate();
             baby.setFitness(0.0);
-            baby.setColor(color);
+            baby.setSpeciesId(id);
             babies.add(baby);
+            mutants.add(baby);
         }
+
+        context.getWeightMutator().mutate(mutants);
+        mutants.forEach(Network::mutateStructure);
         organisms.clear();
         organisms.addAll(babies);
     }
@@ -98,24 +86,18 @@ public class Species {
         }
     }
 
+    /**
+     * Keeps only the fittest organisms of this species, with the champion first.
+     */
     public void cullOrganisms() {
-        organisms = organisms.stream().sorted(Comparator.comparingDouble(Network::getFitness).reversed())
-                                        .collect(Collectors.toList());
-        int i = organisms.size() - 1;
-        int numToCull = (int) Math.floor((organisms.size()) * Coefficients.CULL_THRESH.value);
-        for(; i > numToCull; i--) {
-            organisms.remove(i);
-        }
+        int numToKeep = (int) Math.floor(organisms.size() * context.get(Coefficients.CULL_THRESH)) + 1;
+        Selection.keepFittest(organisms, numToKeep);
     }
 
     public void addOrganism(Network network) {
         organisms.add(network);
     }
 
-    public Color getColor() {
-        return color;
-    }
-
     public double getAvgFitness() {
         return avgFitness;
     }
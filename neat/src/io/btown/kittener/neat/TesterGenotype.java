@@ -4,7 +4,7 @@ public class TesterGenotype {
     public static void main(String[] args) throws CloneNotSupportedException {
         int inputs = 1;
         int outputs = 2;
-        Network g = new Network(inputs, outputs);
+        Network g = new Network(new EvolutionContext(), inputs, outputs);
         g.setFitness(10);
         System.out.println("finished building.");
         Network c = new Network(g);
@@ -0,0 +1,50 @@
+package io.btown.kittener.neat;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks the fittest of a fixed number of candidates drawn uniformly, with replacement. Needs no preparation beyond a
+ * copy of the fitness values, and the cost of a pick only depends on the tournament size.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+class TournamentSelector implements ParentSelector {
+    private final int size;
+    private List<Network> candidates;
+    private double[] fitness;
+
+    /**
+     * Constructor for a tournament selector.
+     * @param size The number of candidates drawn for each pick.
+     */
+    TournamentSelector(int size) {
+        if(size < 1) {
+            throw new IllegalArgumentException("A tournament needs at least one entrant.");
+        }
+        this.size    = size;
+        this.fitness = new double[0];
+    }
+
+    @Override
+    public void prepare(List<Network> candidates) {
+        this.candidates = candidates;
+        if(fitness.length < candidates.size()) {
+            fitness = new double[candidates.size() * 3 / 2];
+        }
+        for(int i = 0; i < candidates.size(); i++) {
+            fitness[i] = candidates.get(i).getFitness();
+        }
+    }
+
+    @Override
+    public Network pick(Random random) {
+        int numCandidates = candidates.size();
+        int best = random.nextInt(numCandidates);
+        for(int i = 1; i < size; i++) {
+            int entrant = random.nextInt(numCandidates);
+            if(fitness[entrant] > fitness[best]) best = entrant;
+        }
+        return candidates.get(best);
+    }
+}
@@ -0,0 +1,23 @@
+package io.btown.kittener.neat;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks every candidate with the same chance.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+class UniformSelector implements ParentSelector {
+    private List<Network> candidates;
+
+    @Override
+    public void prepare(List<Network> candidates) {
+        this.candidates = candidates;
+    }
+
+    @Override
+    public Network pick(Random random) {
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+}
@@ -0,0 +1,184 @@
+package io.btown.kittener.neat;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Mutates the weights of many networks in one pass. The weights of every network are gathered into one contiguous
+ * buffer, the random numbers for every weight are drawn in bulk, and the mutation itself is a single branch-free loop
+ * over the buffer before the weights are scattered back. Gaussian perturbations come from a ziggurat sampler, which
+ * needs a single random integer and a table lookup for almost every sample.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+class WeightMutator {
+    /** Chance that a mutated weight is replaced entirely rather than perturbed. */
+    private static final double REPLACE_CHANCE = 0.1;
+
+    /** Perturbations are drawn from a normal distribution with this standard deviation. */
+    private static final double PERTURB_SCALE = 1.0 / 50;
+
+    /** Number of layers of the ziggurat. */
+    private static final int LAYERS = 128;
+
+    /** Where the base layer of the ziggurat meets the tail of the distribution. */
+    private static final double TAIL_START = 3.442619855899;
+
+    /** Area of each layer of the ziggurat. */
+    private static final double LAYER_AREA = 9.91256303526217e-3;
+
+    /** Samples whose magnitude is below KN[layer] fall inside the layer's rectangle and are accepted immediately. */
+    private static final long[] KN = new long[LAYERS];
+
+    /** Scales a random integer to a sample within each layer. */
+    private static final double[] WN = new double[LAYERS];
+
+    /** The density of the distribution at the edge of each layer. */
+    private static final double[] FN = new double[LAYERS];
+
+    static {
+        double scale = 2147483648.0;
+        double edge = TAIL_START;
+        double previous = edge;
+        double q = LAYER_AREA / Math.exp(-0.5 * edge * edge);
+
+        KN[0] = (long) ((edge / q) * scale);
+        KN[1] = 0;
+        WN[0] = q / scale;
+        WN[LAYERS - 1] = edge / scale;
+        FN[0] = 1.0;
+        FN[LAYERS - 1] = Math.exp(-0.5 * edge * edge);
+
+        for(int i = LAYERS - 2; i >= 1; i--) {
+            edge = Math.sqrt(-2 * Math.log(LAYER_AREA / edge + Math.exp(-0.5 * edge * edge)));
+            KN[i + 1] = (long) ((edge / previous) * scale);
+            previous = edge;
+            FN[i] = Math.exp(-0.5 * edge * edge);
+            WN[i] = edge / scale;
+        }
+    }
+
+    /** The training the mutated networks belong to. */
+    private final EvolutionContext context;
+
+    private final SplittableRandom random;
+
+    /** Every gathered weight. Reused between passes. */
+    private double[] weights;
+
+    /** A uniform draw per weight, deciding both whether and how it mutates. Reused between passes. */
+    private double[] decisions;
+
+    /** A standard normal draw per weight. Reused between passes. */
+    private double[] perturbations;
+
+    /**
+     * Constructor for the mutator of the supplied training. Its generator is seeded from the training's, so a seeded
+     * training stays reproducible.
+     * @param context The training the mutated networks belong to.
+     */
+    WeightMutator(EvolutionContext context) {
+        this.context       = context;
+        this.random        = new SplittableRandom(context.getRandom().nextLong());
+        this.weights       = new double[0];
+        this.decisions     = new double[0];
+        this.perturbations = new double[0];
+    }
+
+    /**
+     * Mutates the weights of every supplied network. Each weight mutates with a chance of LINK_WEIGHT_MUT; a mutated
+     * weight is usually nudged by a small normal perturbation and clamped to [-1, 1], but is sometimes replaced by a
+     * uniformly random weight.
+     * @param networks The networks to mutate.
+     */
+    public void mutate(List<Network> networks) {
+        int total = 0;
+        for(Network network : networks) {
+            total += network.getNumLinks();
+        }
+        ensureCapacity(total);
+
+        int offset = 0;
+        for(Network network : networks) {
+            network.copyWeightsTo(weights, offset);
+            offset += network.getNumLinks();
+        }
+
+        for(int i = 0; i < total; i++) {
+            decisions[i] = random.nextDouble();
+        }
+        for(int i = 0; i < total; i++) {
+            perturbations[i] = nextGaussian();
+        }
+
+        // A single uniform draw decides the outcome: below replaceChance the weight is replaced, and since the draw is
+        // then uniform on [0, replaceChance) it also picks the new weight. Below mutateChance it is perturbed.
+        double mutateChance = context.get(Coefficients.LINK_WEIGHT_MUT);
+        double replaceChance = mutateChance * REPLACE_CHANCE;
+        for(int i = 0; i < total; i++) {
+            double weight = weights[i];
+            double decision = decisions[i];
+            double perturbed = Math.max(-1, Math.min(1, weight + perturbations[i] * PERTURB_SCALE));
+            double replaced = (decision / replaceChance) * 2 - 1;
+            weights[i] = decision < replaceChance ? replaced : decision < mutateChance ? perturbed : weight;
+        }
+
+        offset = 0;
+        for(Network network : networks) {
+            network.setWeightsFrom(weights, offset);
+            offset += network.getNumLinks();
+        }
+    }
+
+    /**
+     * Grows the buffers if they can not hold the supplied number of weights.
+     */
+    private void ensureCapacity(int total) {
+        if(total > weights.length) {
+            int length = total + total / 2;
+            weights = new double[length];
+            decisions = new double[length];
+            perturbations = new double[length];
+        }
+    }
+
+    /**
+     * Returns a standard normal sample drawn using the ziggurat method of Marsaglia and Tsang.
+     * @return A standard normal sample.
+     */
+    double nextGaussian() {
+        int hz = (int) random.nextLong();
+        int iz = hz & (LAYERS - 1);
+        if(Math.abs((long) hz) < KN[iz]) {
+            return hz * WN[iz];
+        }
+        return nextGaussianSlow(hz, iz);
+    }
+
+    /**
+     * Handles the rare samples that fall outside the rectangle of their layer, including those in the tail.
+     */
+    private double nextGaussianSlow(int hz, int iz) {
+        while(true) {
+            double x = hz * WN[iz];
+            if(iz == 0) {
+                double y;
+                do {
+                    x = -Math.log(1 - random.nextDouble()) / TAIL_START;
+                    y = -Math.log(1 - random.nextDouble());
+                } while(y + y < x * x);
+                return hz > 0 ? TAIL_START + x : -TAIL_START - x;
+            }
+
+            if(FN[iz] + random.nextDouble() * (FN[iz - 1] - FN[iz]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+
+            hz = (int) random.nextLong();
+            iz = hz & (LAYERS - 1);
+            if(Math.abs((long) hz) < KN[iz]) {
+                return hz * WN[iz];
+            }
+        }
+    }
+}
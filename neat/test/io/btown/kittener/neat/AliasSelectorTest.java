@@ -0,0 +1,101 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that AliasSelector picks candidates as often as their weights say, including candidates with no weight and
+ * candidates that all weigh the same.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class AliasSelectorTest {
+    /** The number of picks each distribution is estimated from. */
+    private static final int PICKS = 400_000;
+
+    /** How far an estimated chance may be from the expected one. About five standard deviations at worst. */
+    private static final double TOLERANCE = 0.004;
+
+    private final EvolutionContext context = new EvolutionContext(1);
+
+    private List<Network> networksWith(double... fitness) {
+        List<Network> networks = new ArrayList<>();
+        for(double value : fitness) {
+            Network network = new Network(context, 1, 1);
+            network.setFitness(value);
+            networks.add(network);
+        }
+        return networks;
+    }
+
+    /**
+     * Prepares the selector for the candidates and checks how often each is picked against the expected weights.
+     */
+    private static void checkFrequencies(ParentSelector selector, List<Network> candidates, double... weights) {
+        selector.prepare(candidates);
+        Map<Network, Integer> counts = new IdentityHashMap<>();
+        Random random = new Random(99);
+        for(int i = 0; i < PICKS; i++) {
+            counts.merge(selector.pick(random), 1, Integer::sum);
+        }
+
+        double sum = 0;
+        for(double weight : weights) {
+            sum += weight;
+        }
+        for(int i = 0; i < candidates.size(); i++) {
+            double expected = weights[i] / sum;
+            double actual = counts.getOrDefault(candidates.get(i), 0) / (double) PICKS;
+            if(expected == 0) {
+                assertEquals("candidate " + i, 0, actual, 0);
+            } else {
+                assertEquals("candidate " + i, expected, actual, TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void fitnessProportionateMatchesWeights() {
+        checkFrequencies(new AliasSelector(false), networksWith(1, 2, 3, 4, 10), 1, 2, 3, 4, 10);
+    }
+
+    @Test
+    public void zeroFitnessIsNeverPicked() {
+        checkFrequencies(new AliasSelector(false), networksWith(0, 5, 0, 15, 0), 0, 5, 0, 15, 0);
+    }
+
+    @Test
+    public void negativeFitnessIsShiftedSoTheWeakestHasNoWeight() {
+        checkFrequencies(new AliasSelector(false), networksWith(-2, 0, 2), 0, 2, 4);
+    }
+
+    @Test
+    public void equalFitnessIsPickedUniformly() {
+        checkFrequencies(new AliasSelector(false), networksWith(3, 3, 3, 3), 1, 1, 1, 1);
+    }
+
+    @Test
+    public void allZeroFitnessIsPickedUniformly() {
+        checkFrequencies(new AliasSelector(false), networksWith(0, 0, 0), 1, 1, 1);
+    }
+
+    @Test
+    public void rankGivesEqualFitnessEqualWeight() {
+        // Weights are one more than the number of weaker candidates.
+        checkFrequencies(new AliasSelector(true), networksWith(7, 100, 7, -1, 50), 2, 5, 2, 1, 4);
+    }
+
+    @Test
+    public void preparingAgainReplacesTheTable() {
+        AliasSelector selector = new AliasSelector(false);
+        selector.prepare(networksWith(100, 1));
+        checkFrequencies(selector, networksWith(1, 1, 2, 0, 4, 0, 8, 0, 16, 0), 1, 1, 2, 0, 4, 0, 8, 0, 16, 0);
+    }
+}
@@ -0,0 +1,157 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that packing networks into a GenomeArena never changes them, that two arenas can take turns holding the
+ * generations without reallocating, and that a packed population evolves exactly like an unpacked one.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class GenomeArenaTest {
+    private static List<String> genesOf(List<Network> networks) {
+        List<String> genes = new ArrayList<>();
+        networks.forEach(network -> genes.add(NetworkTest.genesOf(network)));
+        return genes;
+    }
+
+    /**
+     * Returns a mutated clone of every supplied network, as breeding would.
+     */
+    private static List<Network> nextGeneration(List<Network> parents) {
+        List<Network> children = new ArrayList<>();
+        for(Network parent : parents) {
+            Network child = new Network(parent);
+            child.mutate();
+            children.add(child);
+        }
+        return children;
+    }
+
+    @Test
+    public void packingKeepsEveryGene() {
+        EvolutionContext context = NetworkTest.growingContext(1);
+        List<Network> networks = new ArrayList<>();
+        for(int i = 0; i < 30; i++) {
+            networks.add(NetworkTest.grown(context, 4, 2, i % 7));
+        }
+        List<String> before = genesOf(networks);
+
+        GenomeArena arena = new GenomeArena();
+        arena.pack(networks);
+
+        assertEquals(before, genesOf(networks));
+        int nodes = 0;
+        int links = 0;
+        for(Network network : networks) {
+            nodes += network.getNumNodes();
+            links += network.getNumLinks();
+        }
+        assertEquals(nodes, arena.getNumNodes());
+        assertEquals(links, arena.getNumLinks());
+    }
+
+    @Test
+    public void changingAPackedNetworkLeavesItsNeighboursAlone() {
+        EvolutionContext context = NetworkTest.growingContext(2);
+        List<Network> networks = new ArrayList<>();
+        for(int i = 0; i < 10; i++) {
+            networks.add(NetworkTest.grown(context, 3, 3, 3));
+        }
+        GenomeArena arena = new GenomeArena();
+        arena.pack(networks);
+        List<String> before = genesOf(networks);
+
+        for(int i = 0; i < 5; i++) {
+            networks.get(4).mutate();
+        }
+
+        List<String> after = genesOf(networks);
+        for(int i = 0; i < networks.size(); i++) {
+            if(i != 4) {
+                assertEquals(before.get(i), after.get(i));
+            }
+        }
+    }
+
+    /**
+     * Packs a dozen generations into two arenas that take turns, checking every network after each one. Returns the
+     * node and link capacity of both arenas after every generation.
+     */
+    private static List<String> packGenerations(EvolutionContext context) {
+        List<Network> generation = new ArrayList<>();
+        for(int i = 0; i < 40; i++) {
+            generation.add(new Network(context, 5, 3));
+        }
+        GenomeArena[] arenas = {new GenomeArena(), new GenomeArena()};
+        arenas[0].pack(generation);
+        int active = 0;
+
+        List<String> capacities = new ArrayList<>();
+        for(int round = 0; round < 12; round++) {
+            List<Network> next = nextGeneration(generation);
+            List<String> expected = genesOf(next);
+            List<String> previous = genesOf(generation);
+
+            // Pack into the idle arena, as Population does, while the children still share segments with their
+            // parents in the active one.
+            GenomeArena idle = arenas[1 - active];
+            idle.clear();
+            idle.pack(next);
+            active = 1 - active;
+
+            assertEquals(expected, genesOf(next));
+            // The parents still read from the arena that was active, which packing the other one must not touch.
+            assertEquals(previous, genesOf(generation));
+            generation = next;
+
+            capacities.add(arenas[0].getNodeCapacity() + "/" + arenas[0].getLinkCapacity() + " "
+                    + arenas[1].getNodeCapacity() + "/" + arenas[1].getLinkCapacity());
+        }
+        return capacities;
+    }
+
+    @Test
+    public void doubleBufferedArenasKeepEveryGeneration() {
+        packGenerations(NetworkTest.growingContext(3));
+    }
+
+    @Test
+    public void doubleBufferedArenasAreReusedWithoutGrowing() {
+        // Without structural mutations every generation is the same size, so once both arenas have held one they
+        // never need new storage.
+        EvolutionContext context = NetworkTest.growingContext(4);
+        context.set(Coefficients.ADD_NODE_MUT, 0);
+        context.set(Coefficients.ADD_LINK_MUT, 0);
+        List<String> capacities = packGenerations(context);
+        for(String capacity : capacities.subList(1, capacities.size())) {
+            assertEquals(capacities.get(0), capacity);
+        }
+    }
+
+    @Test
+    public void packedPopulationEvolvesLikeAnUnpackedOne() {
+        Population packed = new Population(new EvolutionContext(11), 60, 4, 3, true);
+        Population unpacked = new Population(new EvolutionContext(11), 60, 4, 3, false);
+        float[] vision = {0.5f, -0.25f, 1, 0};
+
+        for(int generation = 0; generation < 15; generation++) {
+            assertEquals(genesOf(unpacked.getNetworks()), genesOf(packed.getNetworks()));
+            for(Population population : new Population[] {packed, unpacked}) {
+                for(int i = 0; i < population.getNetworks().size(); i++) {
+                    double[] output = population.getOutput(i, vision);
+                    population.assignFitness(i, 1 + output[0] + 2 * output[1] + population.getNetworks()
+                            .get(i).getNumLinks());
+                }
+                population.naturalSelection();
+                population.incrementGeneration();
+            }
+        }
+        assertEquals(genesOf(unpacked.getNetworks()), genesOf(packed.getNetworks()));
+    }
+}
@@ -0,0 +1,117 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that GenomeCodec decodes exactly the networks it encoded and rejects malformed bytes with an IOException.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class GenomeCodecTest {
+    /**
+     * Returns the supplied integers as zig-zag encoded variable-length integers, the way the codec writes counts.
+     */
+    private static byte[] varInts(long... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for(long value : values) {
+            long zigZag = ((value << 1) ^ (value >> 63)) & 0xFFFFFFFFL;
+            while((zigZag & ~0x7FL) != 0) {
+                bytes.write((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            bytes.write((int) zigZag);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void assertMalformed(byte[] bytes) {
+        try {
+            GenomeCodec.decode(bytes, new EvolutionContext(1));
+            fail("Decoded malformed bytes " + Arrays.toString(bytes));
+        } catch(IOException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void decodedNetworksMatchTheOriginals() throws IOException {
+        EvolutionContext context = NetworkTest.growingContext(5);
+        List<Network> networks = new ArrayList<>();
+        networks.add(new Network(context, 3, 2));
+        for(int i = 0; i < 20; i++) {
+            networks.add(NetworkTest.grown(context, 3 + i % 4, 1 + i % 3, i));
+        }
+
+        List<Network> decoded = GenomeCodec.decode(GenomeCodec.encode(networks), new EvolutionContext(5));
+        assertEquals(networks.size(), decoded.size());
+
+        Random random = new Random(8);
+        for(int i = 0; i < networks.size(); i++) {
+            Network original = networks.get(i);
+            Network copy = decoded.get(i);
+            assertEquals(NetworkTest.genesOf(original), NetworkTest.genesOf(copy));
+            assertEquals(original.getGenomeHash(), copy.getGenomeHash());
+            assertEquals(original.getNumLayers(), copy.getNumLayers());
+
+            double[] originalMemory = new double[original.getMemorySize()];
+            double[] copyMemory = new double[copy.getMemorySize()];
+            for(int step = 0; step < 5; step++) {
+                float[] inputs = new float[original.getNumInputs()];
+                for(int input = 0; input < inputs.length; input++) {
+                    inputs[input] = random.nextFloat() * 2 - 1;
+                }
+                assertArrayEquals(original.feedForward(inputs, originalMemory), copy.feedForward(inputs, copyMemory),
+                        0);
+            }
+        }
+    }
+
+    @Test
+    public void emptyBatchRoundTrips() throws IOException {
+        assertEquals(0, GenomeCodec.decode(GenomeCodec.encode(new ArrayList<>()), new EvolutionContext(1)).size());
+    }
+
+    @Test
+    public void negativeCountsAreRejected() {
+        assertMalformed(varInts(-1));
+        assertMalformed(varInts(1, -2, 1, 1));
+        assertMalformed(varInts(1, 1, 1, 1, -3));
+        assertMalformed(varInts(1, 1, 1, 1, 3, 0, 0, -1, 0, 1, 1, -5));
+    }
+
+    @Test
+    public void countsTooLargeToBeRealAreRejected() {
+        assertMalformed(varInts(Integer.MAX_VALUE));
+        assertMalformed(varInts(1, 1, 1, 1, GenomeCodec.MAX_GENES + 1));
+        assertMalformed(varInts(1, 1, 1, 1, 3, 0, 0, -1, 0, 1, 1, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void tooFewNodesAreRejected() {
+        assertMalformed(varInts(1, 4, 2, 1, 3, 0, 0, -1, 0, 1, 1, 0));
+    }
+
+    @Test
+    public void linksToMissingNodesAreRejected() {
+        assertMalformed(varInts(1, 1, 1, 1, 3, 0, 0, -1, 0, 1, 1, 1, 0, 0, 7));
+    }
+
+    @Test
+    public void truncatedBytesAreRejected() {
+        byte[] bytes = GenomeCodec.encode(Arrays.asList(new Network(new EvolutionContext(1), 2, 2)));
+        for(int length = 0; length < bytes.length; length++) {
+            assertMalformed(Arrays.copyOf(bytes, length));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a NetworkBatch gives every network exactly the outputs its own feedForward would, whether it is
+ * evaluated in a group of networks sharing its phenotype or on its own, and while networks are being retired, and that
+ * ordering networks by topology keeps those sharing a phenotype together.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class NetworkBatchTest {
+    /** The number of inputs and outputs of every network. */
+    private static final int NUM_INPUTS = 5;
+    private static final int NUM_OUTPUTS = 3;
+
+    /** How far single precision outputs may be from double precision ones. */
+    private static final double FLOAT_TOLERANCE = 1e-5;
+
+    /**
+     * Returns networks in families that share a topology and only differ in their weights, some of them recurrent,
+     * along with a few whose topology is their own. Some families are too small to be evaluated together, some break
+     * up once half of them are retired and the largest is repacked first.
+     */
+    private static List<Network> mixedNetworks(EvolutionContext context) {
+        context.set(Coefficients.RECURRENT_LINK_MUT, 0.4);
+        List<Network> networks = new ArrayList<>();
+        for(int family = 0; family < 6; family++) {
+            Network parent = NetworkTest.grown(context, NUM_INPUTS, NUM_OUTPUTS, family * 2);
+            List<Network> clones = new ArrayList<>();
+            for(int i = 0; i < 2 + family * 7; i++) {
+                clones.add(new Network(parent));
+            }
+            context.getWeightMutator().mutate(clones);
+            networks.add(parent);
+            networks.addAll(clones);
+            networks.add(NetworkTest.grown(context, NUM_INPUTS, NUM_OUTPUTS, 3 + family));
+        }
+        return networks;
+    }
+
+    private static float[][] randomInputs(Random random, int numNetworks) {
+        float[][] inputs = new float[numNetworks][NUM_INPUTS];
+        for(float[] networkInputs : inputs) {
+            for(int i = 0; i < NUM_INPUTS; i++) {
+                networkInputs[i] = random.nextFloat() * 4 - 2;
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Feeds a batch and every network on its own the same inputs for a number of steps, retiring a network now and
+     * then, and checks that the batch's outputs are within the supplied tolerance of each network's own.
+     * @param ownInDouble Whether each network is fed forward on its own in double precision, whatever the batch uses.
+     */
+    private static void checkAgainstOwnFeedForward(EvolutionContext context, List<Network> networks, double tolerance,
+                                                   boolean ownInDouble) {
+        NetworkBatch batch = new NetworkBatch(networks);
+        double[][] memories = new double[networks.size()][];
+        for(int i = 0; i < networks.size(); i++) {
+            memories[i] = new double[networks.get(i).getMemorySize()];
+        }
+        boolean[] retired = new boolean[networks.size()];
+        double[][] outputs = new double[networks.size()][NUM_OUTPUTS];
+        Random random = new Random(12);
+
+        for(int step = 0; step < 40; step++) {
+            float[][] inputs = randomInputs(random, networks.size());
+            batch.feedForward(inputs, outputs);
+
+            for(int i = 0; i < networks.size(); i++) {
+                if(retired[i]) {
+                    continue;
+                }
+                Network network = networks.get(i);
+                double[] expected;
+                if(ownInDouble) {
+                    context.setSinglePrecision(false);
+                    expected = network.feedForward(inputs[i], memories[i]);
+                    context.setSinglePrecision(true);
+                } else {
+                    expected = network.feedForward(inputs[i], memories[i]);
+                }
+                assertArrayEquals("network " + i + " step " + step, expected, outputs[i], tolerance);
+            }
+
+            // Retire a few networks every step, so groups shrink, are repacked and finally break up.
+            for(int i = 0; i < 2; i++) {
+                int index = random.nextInt(networks.size());
+                retired[index] = true;
+                batch.retire(index);
+            }
+        }
+    }
+
+    @Test
+    public void mixedNetworksFormGroupsOfEverySize() {
+        List<Network> networks = mixedNetworks(NetworkTest.growingContext(30));
+        Map<Phenotype, Integer> familySizes = new HashMap<>();
+        for(Network network : networks) {
+            familySizes.merge(network.getPhenotype(), 1, Integer::sum);
+        }
+        int small = 0;
+        int large = 0;
+        int inLarge = 0;
+        for(int size : familySizes.values()) {
+            if(size >= NetworkBatch.MIN_GROUP_SIZE) {
+                large++;
+                inLarge += size;
+            } else if(size > 1) {
+                small++;
+            }
+        }
+        assertTrue(small > 0 && large > 0);
+        assertEquals(inLarge, new NetworkBatch(networks).getNumBatched());
+    }
+
+    @Test
+    public void topologyOrderKeepsFamiliesTogether() {
+        List<Network> networks = mixedNetworks(NetworkTest.growingContext(34));
+        Collections.shuffle(networks, new Random(35));
+        int[] order = NetworkBatch.orderByTopology(networks);
+        Set<Phenotype> finished = new HashSet<>();
+        Set<Integer> seen = new HashSet<>();
+        for(int i = 0; i < order.length; i++) {
+            seen.add(order[i]);
+            Phenotype phenotype = networks.get(order[i]).getPhenotype();
+            if(i > 0 && networks.get(order[i - 1]).getPhenotype() != phenotype) {
+                assertTrue(finished.add(networks.get(order[i - 1]).getPhenotype()));
+            }
+            assertFalse(finished.contains(phenotype));
+        }
+        assertEquals(networks.size(), seen.size());
+    }
+
+    @Test
+    public void doublePrecisionMatchesEachNetworkExactly() {
+        EvolutionContext context = NetworkTest.growingContext(31);
+        checkAgainstOwnFeedForward(context, mixedNetworks(context), 0, false);
+    }
+
+    @Test
+    public void singlePrecisionMatchesEachNetworkExactly() {
+        EvolutionContext context = NetworkTest.growingContext(32);
+        List<Network> networks = mixedNetworks(context);
+        context.setSinglePrecision(true);
+        checkAgainstOwnFeedForward(context, networks, 0, false);
+    }
+
+    @Test
+    public void singlePrecisionStaysCloseToDoublePrecision() {
+        EvolutionContext context = NetworkTest.growingContext(33);
+        List<Network> networks = mixedNetworks(context);
+        context.setSinglePrecision(true);
+        checkAgainstOwnFeedForward(context, networks, FLOAT_TOLERANCE, true);
+    }
+}
@@ -0,0 +1,126 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests the copy-on-write gene segments of Network: a clone shares its parent's topology until either of them
+ * changes it, and changing one never shows through in the other.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class NetworkTest {
+    /**
+     * Returns a context that adds a node and a link on every structural mutation.
+     */
+    static EvolutionContext growingContext(long seed) {
+        EvolutionContext context = new EvolutionContext(seed);
+        context.set(Coefficients.ADD_NODE_MUT, 1);
+        context.set(Coefficients.ADD_LINK_MUT, 1);
+        context.set(Coefficients.TOGGLE_LINK_MUT, 1);
+        return context;
+    }
+
+    /**
+     * Returns a network grown from a fully connected one by the supplied number of structural mutations.
+     */
+    static Network grown(EvolutionContext context, int inputs, int outputs, int mutations) {
+        Network network = new Network(context, inputs, outputs);
+        for(int i = 0; i < mutations; i++) {
+            network.mutate();
+        }
+        return network;
+    }
+
+    /**
+     * Returns every gene of the supplied network, in order, as text.
+     */
+    static String genesOf(Network network) {
+        StringBuilder genes = new StringBuilder();
+        for(int node = 0; node < network.getNumNodes(); node++) {
+            genes.append(network.getNodeId(node)).append('@').append(network.getNodeLayer(node)).append(' ');
+        }
+        genes.append('|');
+        for(int position = 0; position < network.getNumNodes(); position++) {
+            genes.append(' ').append(network.getNodeInOrder(position));
+        }
+        genes.append(" |");
+        for(int link = 0; link < network.getNumLinks(); link++) {
+            genes.append(' ').append(network.getLinkInnovation(link))
+                    .append(':').append(network.getLinkInput(link))
+                    .append('>').append(network.getLinkOutput(link))
+                    .append(network.isLinkEnabled(link) ? '+' : '-')
+                    .append(network.getWeight(link));
+        }
+        return genes.toString();
+    }
+
+    @Test
+    public void mutatingCloneLeavesParentUnchanged() {
+        EvolutionContext context = growingContext(1);
+        Network parent = grown(context, 4, 3, 6);
+        String parentGenes = genesOf(parent);
+        long parentHash = parent.getGenomeHash();
+
+        Network clone = new Network(parent);
+        assertEquals(parentGenes, genesOf(clone));
+        for(int i = 0; i < 5; i++) {
+            clone.mutate();
+        }
+
+        assertNotEquals(parentGenes, genesOf(clone));
+        assertEquals(parentGenes, genesOf(parent));
+        assertEquals(parentHash, parent.getGenomeHash());
+    }
+
+    @Test
+    public void mutatingParentLeavesCloneUnchanged() {
+        EvolutionContext context = growingContext(2);
+        Network parent = grown(context, 4, 3, 6);
+        Network clone = new Network(parent);
+        String cloneGenes = genesOf(clone);
+
+        for(int i = 0; i < 5; i++) {
+            parent.mutate();
+        }
+
+        assertNotEquals(cloneGenes, genesOf(parent));
+        assertEquals(cloneGenes, genesOf(clone));
+    }
+
+    @Test
+    public void siblingClonesDoNotSeeEachOthersChanges() {
+        EvolutionContext context = growingContext(3);
+        Network parent = grown(context, 4, 3, 4);
+        String parentGenes = genesOf(parent);
+        Network first = new Network(parent);
+        Network second = new Network(parent);
+
+        first.mutate();
+        String firstGenes = genesOf(first);
+        second.mutate();
+
+        assertEquals(firstGenes, genesOf(first));
+        assertEquals(parentGenes, genesOf(parent));
+    }
+
+    @Test
+    public void weightChangesOnlyCopyWeights() {
+        EvolutionContext context = growingContext(4);
+        Network parent = grown(context, 4, 3, 4);
+        String parentGenes = genesOf(parent);
+        Network clone = new Network(parent);
+
+        double[] weights = new double[clone.getNumLinks()];
+        clone.copyWeightsTo(weights, 0);
+        for(int link = 0; link < weights.length; link++) {
+            weights[link] += 1;
+        }
+        clone.setWeightsFrom(weights, 0);
+
+        assertEquals(parentGenes, genesOf(parent));
+        assertEquals(parent.getWeight(0) + 1, clone.getWeight(0), 0);
+    }
+}
@@ -0,0 +1,418 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the pruned phenotype of a network gives exactly the outputs of evaluating every one of its genes, that
+ * recurrent links carry each step's values over to the next through the memory, that only large networks with many
+ * links per node are evaluated as rows, that dense blocks are only used when a training asks for them, and that
+ * networks are only given a cached phenotype of their own training and topology.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class PhenotypeTest {
+    /** How far a phenotype's output may be from the reference, which sums each node's inputs in another order. */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Returns a context whose structural mutations add nodes, links and, some of the time, recurrent links.
+     */
+    private static EvolutionContext recurrentContext(long seed) {
+        EvolutionContext context = NetworkTest.growingContext(seed);
+        context.set(Coefficients.RECURRENT_LINK_MUT, 0.4);
+        return context;
+    }
+
+    private static int layerOf(Network network, int id) {
+        for(int node = 0; node < network.getNumNodes(); node++) {
+            if(network.getNodeId(node) == id) {
+                return network.getNodeLayer(node);
+            }
+        }
+        throw new IllegalArgumentException("No node " + id);
+    }
+
+    /**
+     * Evaluates every gene of a network without pruning anything, the slow and obvious way. Each node sums its enabled
+     * links in activation order; a recurrent link passes on the value its input had in the previous step.
+     * @param previous The value of every node by id in the previous step. Replaced by this step's values.
+     */
+    private static double[] reference(Network network, float[] inputs, Map<Integer, Double> previous) {
+        Map<Integer, Double> values = new HashMap<>();
+        for(int position = 0; position < network.getNumNodes(); position++) {
+            int id = network.getNodeId(network.getNodeInOrder(position));
+            double value;
+            if(id == -1) {
+                value = Coefficients.BIAS_NODE_LINK_WEIGHT.value;
+            } else if(id < network.getNumInputs()) {
+                value = inputs[id];
+            } else {
+                double sum = 0;
+                for(int link = 0; link < network.getNumLinks(); link++) {
+                    if(network.isLinkEnabled(link) && network.getLinkOutput(link) == id) {
+                        int input = network.getLinkInput(link);
+                        boolean recurrent = layerOf(network, id) <= layerOf(network, input);
+                        sum += network.getWeight(link)
+                                * (recurrent ? previous.getOrDefault(input, 0.0) : values.get(input));
+                    }
+                }
+                value = 1.0 / (1.0 + Math.exp(-sum));
+            }
+            values.put(id, value);
+        }
+        previous.clear();
+        previous.putAll(values);
+
+        double[] outputs = new double[network.getNumOutputs()];
+        for(int i = 0; i < outputs.length; i++) {
+            outputs[i] = values.get(network.getNumInputs() + i);
+        }
+        return outputs;
+    }
+
+    private static float[] randomInputs(Random random, int numInputs) {
+        float[] inputs = new float[numInputs];
+        for(int i = 0; i < inputs.length; i++) {
+            inputs[i] = random.nextFloat() * 4 - 2;
+        }
+        return inputs;
+    }
+
+    /**
+     * Returns a copy of a network with some of its links disabled, which leaves nodes whose every outgoing link is
+     * disabled, i.e. dead ends for the phenotype to prune.
+     */
+    private static Network withDisabledLinks(Network network, Random random) {
+        int numNodes = network.getNumNodes();
+        int numLinks = network.getNumLinks();
+        int[] nodeIds = new int[numNodes];
+        int[] nodeLayers = new int[numNodes];
+        for(int node = 0; node < numNodes; node++) {
+            nodeIds[node] = network.getNodeId(node);
+            nodeLayers[node] = network.getNodeLayer(node);
+        }
+        int[] innovations = new int[numLinks];
+        int[] inputs = new int[numLinks];
+        int[] outputs = new int[numLinks];
+        boolean[] enabled = new boolean[numLinks];
+        double[] weights = new double[numLinks];
+        for(int link = 0; link < numLinks; link++) {
+            innovations[link] = network.getLinkInnovation(link);
+            inputs[link] = network.getLinkInput(link);
+            outputs[link] = network.getLinkOutput(link);
+            enabled[link] = network.isLinkEnabled(link) && random.nextInt(4) != 0;
+            weights[link] = network.getWeight(link);
+        }
+        return new Network(recurrentContext(0), network.getNumInputs(), network.getNumOutputs(),
+                network.getNumLayers(), nodeIds, nodeLayers, innovations, inputs, outputs, enabled, weights);
+    }
+
+    /**
+     * Returns a network whose inputs and bias, hidden layers of the supplied width and outputs each link every node
+     * of a layer to every node of the next one with the supplied probability.
+     */
+    private static Network layered(EvolutionContext context, Random random, int numInputs, int numOutputs,
+                                   int numHiddenLayers, int width, double density) {
+        List<List<Integer>> layers = new ArrayList<>();
+        List<Integer> first = new ArrayList<>();
+        for(int id = -1; id < numInputs; id++) {
+            first.add(id);
+        }
+        layers.add(first);
+        int nextId = numInputs + numOutputs;
+        for(int layer = 0; layer < numHiddenLayers; layer++) {
+            List<Integer> hidden = new ArrayList<>();
+            for(int i = 0; i < width; i++) {
+                hidden.add(nextId++);
+            }
+            layers.add(hidden);
+        }
+        List<Integer> last = new ArrayList<>();
+        for(int i = 0; i < numOutputs; i++) {
+            last.add(numInputs + i);
+        }
+        layers.add(last);
+
+        List<Integer> nodeIds = new ArrayList<>();
+        List<Integer> nodeLayers = new ArrayList<>();
+        List<int[]> links = new ArrayList<>();
+        for(int layer = 0; layer < layers.size(); layer++) {
+            for(int id : layers.get(layer)) {
+                nodeIds.add(id);
+                nodeLayers.add(layer);
+                for(int input : layer == 0 ? new ArrayList<Integer>() : layers.get(layer - 1)) {
+                    if(random.nextDouble() < density) {
+                        links.add(new int[] {input, id});
+                    }
+                }
+            }
+        }
+        int[] innovations = new int[links.size()];
+        int[] inputs = new int[links.size()];
+        int[] outputs = new int[links.size()];
+        boolean[] enabled = new boolean[links.size()];
+        double[] weights = new double[links.size()];
+        for(int i = 0; i < links.size(); i++) {
+            inputs[i] = links.get(i)[0];
+            outputs[i] = links.get(i)[1];
+            innovations[i] = context.getInnovationNumber(inputs[i], outputs[i]);
+            enabled[i] = true;
+            weights[i] = random.nextDouble() * 2 - 1;
+        }
+        return new Network(context, numInputs, numOutputs, layers.size() - 1,
+                nodeIds.stream().mapToInt(Integer::intValue).toArray(),
+                nodeLayers.stream().mapToInt(Integer::intValue).toArray(), innovations, inputs, outputs, enabled,
+                weights);
+    }
+
+    /**
+     * Returns the number of forward links per node of the supplied phenotype's network.
+     */
+    private static double linksPerNode(Network network, Phenotype phenotype) {
+        return (double) Phenotype.liveLinks(network).length / phenotype.getNumNodes();
+    }
+
+    private static int numEnabled(Network network) {
+        int enabled = 0;
+        for(int link = 0; link < network.getNumLinks(); link++) {
+            if(network.isLinkEnabled(link)) enabled++;
+        }
+        return enabled;
+    }
+
+    @Test
+    public void prunedNetworksMatchEveryGeneEvaluated() {
+        EvolutionContext context = recurrentContext(21);
+        Random random = new Random(4);
+        int numPruned = 0;
+        int numRecurrent = 0;
+        for(int i = 0; i < 150; i++) {
+            Network network = NetworkTest.grown(context, 2 + i % 5, 1 + i % 4, i % 25);
+            if(i % 2 == 1) {
+                network = withDisabledLinks(network, random);
+            }
+            if(Phenotype.liveLinks(network).length < numEnabled(network)) numPruned++;
+            if(network.getMemorySize() > 0) numRecurrent++;
+
+            double[] memory = new double[network.getMemorySize()];
+            Map<Integer, Double> previous = new HashMap<>();
+            for(int step = 0; step < 6; step++) {
+                float[] inputs = randomInputs(random, network.getNumInputs());
+                double[] expected = reference(network, inputs, previous);
+                assertArrayEquals("network " + i + " step " + step, expected, network.feedForward(inputs, memory),
+                        TOLERANCE);
+            }
+        }
+        // Make sure both pruning and recurrence were really exercised.
+        assertTrue("only " + numPruned + " networks had dead ends", numPruned > 10);
+        assertTrue("only " + numRecurrent + " networks were recurrent", numRecurrent > 10);
+    }
+
+    @Test
+    public void levelRowsMatchSparseExactly() {
+        EvolutionContext context = recurrentContext(24);
+        Random random = new Random(6);
+        for(int i = 0; i < 60; i++) {
+            Network network = NetworkTest.grown(context, 4, 3, 5 + i);
+            if(i % 3 == 0) {
+                network = withDisabledLinks(network, random);
+            }
+            Phenotype sparse = Phenotype.compileUncached(network, Phenotype.Engine.SPARSE);
+            Phenotype rows = Phenotype.compileUncached(network, Phenotype.Engine.LEVEL_ROWS);
+            double[] sparseWeights = sparse.weightsOf(network);
+            double[] rowWeights = rows.weightsOf(network);
+            double[] sparseMemory = new double[sparse.getMemorySize()];
+            double[] rowMemory = new double[rows.getMemorySize()];
+            for(int step = 0; step < 5; step++) {
+                float[] inputs = randomInputs(random, 4);
+                assertArrayEquals("network " + i + " step " + step,
+                        sparse.feedForward(sparseWeights, inputs, sparseMemory),
+                        rows.feedForward(rowWeights, inputs, rowMemory), 0);
+            }
+        }
+    }
+
+    @Test
+    public void automaticPicksLevelRowsOnlyForLargeDenseNetworks() {
+        EvolutionContext context = NetworkTest.growingContext(27);
+        Random random = new Random(9);
+
+        // Grown networks stay sparse however large they get.
+        Network grown = new Network(context, 32, 4);
+        while(grown.getNumNodes() < 2 * Phenotype.MIN_LEVEL_ROWS_NODES) {
+            grown.mutate();
+        }
+        Phenotype largeSparse = Phenotype.compileUncached(grown, Phenotype.Engine.AUTOMATIC);
+        assertTrue(largeSparse.getNumNodes() >= Phenotype.MIN_LEVEL_ROWS_NODES);
+        assertTrue(linksPerNode(grown, largeSparse) < Phenotype.MIN_LEVEL_ROWS_LINKS_PER_NODE);
+        assertEquals(Phenotype.Engine.SPARSE, largeSparse.getEngine());
+
+        Network small = layered(context, random, 8, 4, 2, 20, 1);
+        Phenotype smallDense = Phenotype.compileUncached(small, Phenotype.Engine.AUTOMATIC);
+        assertTrue(smallDense.getNumNodes() < Phenotype.MIN_LEVEL_ROWS_NODES);
+        assertTrue(linksPerNode(small, smallDense) >= 2 * Phenotype.MIN_LEVEL_ROWS_LINKS_PER_NODE);
+        assertEquals(Phenotype.Engine.SPARSE, smallDense.getEngine());
+
+        Network large = layered(context, random, 32, 4, 3, 60, 0.2);
+        Phenotype largeDense = Phenotype.compileUncached(large, Phenotype.Engine.AUTOMATIC);
+        assertTrue(largeDense.getNumNodes() >= Phenotype.MIN_LEVEL_ROWS_NODES);
+        assertTrue(linksPerNode(large, largeDense) >= Phenotype.MIN_LEVEL_ROWS_LINKS_PER_NODE);
+        assertEquals(Phenotype.Engine.LEVEL_ROWS, largeDense.getEngine());
+    }
+
+    @Test
+    public void denseBlocksStayCloseToSparse() {
+        EvolutionContext context = recurrentContext(25);
+        Random random = new Random(7);
+        int withBlocks = 0;
+        for(int i = 0; i < 40; i++) {
+            Network network = NetworkTest.grown(context, 8, 4, i / 2);
+            Phenotype sparse = Phenotype.compileUncached(network, Phenotype.Engine.SPARSE);
+            Phenotype blocks = Phenotype.compileUncached(network, Phenotype.Engine.DENSE_BLOCKS);
+            if(blocks.getNumBlocks() > 0) {
+                withBlocks++;
+            }
+            double[] sparseWeights = sparse.weightsOf(network);
+            double[] blockWeights = blocks.weightsOf(network);
+            double[] sparseMemory = new double[sparse.getMemorySize()];
+            double[] blockMemory = new double[blocks.getMemorySize()];
+            for(int step = 0; step < 5; step++) {
+                float[] inputs = randomInputs(random, 8);
+                assertArrayEquals("network " + i + " step " + step,
+                        sparse.feedForward(sparseWeights, inputs, sparseMemory),
+                        blocks.feedForward(blockWeights, inputs, blockMemory), TOLERANCE);
+            }
+        }
+        assertTrue("only " + withBlocks + " networks had dense blocks", withBlocks > 10);
+    }
+
+    @Test
+    public void denseBlocksAreOnlyUsedWhenAskedFor() {
+        EvolutionContext context = new EvolutionContext(26);
+        Network network = new Network(context, 8, 4);
+        assertEquals(Phenotype.Engine.SPARSE, network.getPhenotype().getEngine());
+        assertEquals(0, network.getPhenotype().getNumBlocks());
+
+        context.setDenseBlocks(true);
+        List<Network> networks = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            networks.add(new Network(context, 8, 4));
+        }
+        context.getWeightMutator().mutate(networks);
+        Phenotype phenotype = networks.get(0).getPhenotype();
+        assertEquals(Phenotype.Engine.DENSE_BLOCKS, phenotype.getEngine());
+        assertEquals(1, phenotype.getNumBlocks());
+
+        // A batch of networks with dense blocks still gives exactly each network's own outputs.
+        Random random = new Random(8);
+        NetworkBatch batch = new NetworkBatch(networks);
+        float[][] inputs = new float[networks.size()][];
+        double[][] outputs = new double[networks.size()][4];
+        for(int step = 0; step < 3; step++) {
+            for(int i = 0; i < inputs.length; i++) {
+                inputs[i] = randomInputs(random, 8);
+            }
+            batch.feedForward(inputs, outputs);
+            for(int i = 0; i < inputs.length; i++) {
+                assertArrayEquals("network " + i + " step " + step, networks.get(i).feedForward(inputs[i]),
+                        outputs[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void memoryCarriesValuesBetweenSteps() {
+        EvolutionContext context = recurrentContext(22);
+        Random random = new Random(5);
+        int numChanged = 0;
+        for(int i = 0; i < 100; i++) {
+            Network network = NetworkTest.grown(context, 3, 2, 10 + i % 10);
+            if(network.getMemorySize() == 0) {
+                continue;
+            }
+            float[] inputs = randomInputs(random, 3);
+            double[] memory = new double[network.getMemorySize()];
+
+            // A zeroed memory passes on nothing, just like no memory at all.
+            double[] first = network.feedForward(inputs, memory);
+            assertArrayEquals(network.feedForward(inputs), first, 0);
+
+            // The same inputs again now see the first step's values over the recurrent links.
+            double[] second = network.feedForward(inputs, memory);
+            if(!Arrays.equals(first, second)) numChanged++;
+
+            // Starting over with a zeroed memory repeats the first step exactly.
+            Arrays.fill(memory, 0);
+            assertArrayEquals(first, network.feedForward(inputs, memory), 0);
+        }
+        assertTrue("memory changed the outputs of only " + numChanged + " networks", numChanged > 10);
+    }
+
+    @Test
+    public void recurrenceFollowsLayersAsNetworksGrow() {
+        EvolutionContext context = recurrentContext(23);
+        List<Network> networks = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            networks.add(new Network(context, 4, 3));
+        }
+        for(int round = 0; round < 15; round++) {
+            for(Network network : networks) {
+                for(int link = 0; link < network.getNumLinks(); link++) {
+                    int inputLayer = layerOf(network, network.getLinkInput(link));
+                    int outputLayer = layerOf(network, network.getLinkOutput(link));
+                    assertEquals(outputLayer <= inputLayer, network.isRecurrent(link));
+                }
+                network.mutate();
+            }
+        }
+    }
+
+    @Test
+    public void collidingStructureHashesGetTheirOwnPhenotypes() {
+        EvolutionContext context = recurrentContext(25);
+        Phenotype.Cache cache = new Phenotype.Cache();
+        Random random = new Random(7);
+        for(int i = 0; i < 30; i++) {
+            Network first = NetworkTest.grown(context, 4, 3, i % 10);
+            Network second = NetworkTest.grown(context, 4, 3, 3 + i % 10);
+
+            // Both networks claim the same structure hash, as two different structures now and then will.
+            List<Phenotype> phenotypes = new ArrayList<>();
+            for(Network network : new Network[] {first, second, new Network(first), new Network(second)}) {
+                Phenotype phenotype = cache.compile(network, Phenotype.liveLinks(network), 42);
+                phenotypes.add(phenotype);
+
+                Phenotype expected = Phenotype.compileUncached(network, Phenotype.Engine.SPARSE);
+                float[] inputs = randomInputs(random, 4);
+                assertArrayEquals("network " + i, expected.feedForward(expected.weightsOf(network), inputs,
+                        new double[expected.getMemorySize()]), phenotype.feedForward(phenotype.weightsOf(network),
+                        inputs, new double[phenotype.getMemorySize()]), 0);
+            }
+            assertSame(phenotypes.get(0), phenotypes.get(2));
+            assertSame(phenotypes.get(1), phenotypes.get(3));
+        }
+    }
+
+    @Test
+    public void trainingsCompileTheirOwnPhenotypes() {
+        Network network = new Network(new EvolutionContext(1), 3, 2);
+        Network sameTraining = new Network(network);
+        Network otherTraining = new Network(new EvolutionContext(1), 3, 2);
+
+        assertSame(network.getPhenotype(), sameTraining.getPhenotype());
+        assertNotSame(network.getPhenotype(), otherTraining.getPhenotype());
+    }
+}
@@ -0,0 +1,121 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests how Population splits the next generation between its species with the largest remainder method, and that
+ * it reports each generation to its own log rather than to the console.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class PopulationTest {
+    /**
+     * Checks that the quotas add up to the number of babies, are never negative and are within one of each species'
+     * exact share.
+     */
+    private static void checkQuotas(double[] avgFitness, int numBabies) {
+        int[] quotas = Population.allocateOffspring(avgFitness, numBabies);
+        assertEquals(avgFitness.length, quotas.length);
+
+        double total = 0;
+        for(double fitness : avgFitness) {
+            total += Math.max(fitness, 0);
+        }
+        int sum = 0;
+        for(int i = 0; i < quotas.length; i++) {
+            assertTrue("quota " + quotas[i] + " is negative", quotas[i] >= 0);
+            double share = total > 0 ? numBabies * Math.max(avgFitness[i], 0) / total
+                    : (double) numBabies / avgFitness.length;
+            assertTrue("quota " + quotas[i] + " is not within one of " + share, Math.abs(quotas[i] - share) < 1);
+            sum += quotas[i];
+        }
+        assertEquals(numBabies, sum);
+    }
+
+    @Test
+    public void quotasAlwaysAddUpAndAreNeverNegative() {
+        Random random = new Random(3);
+        for(int trial = 0; trial < 2000; trial++) {
+            int numSpecies = 1 + random.nextInt(30);
+            double[] avgFitness = new double[numSpecies];
+            for(int i = 0; i < numSpecies; i++) {
+                switch(random.nextInt(4)) {
+                    case 0:
+                        avgFitness[i] = 0;
+                        break;
+                    case 1:
+                        avgFitness[i] = -random.nextDouble() * 100;
+                        break;
+                    case 2:
+                        avgFitness[i] = random.nextInt(5) * 10;
+                        break;
+                    default:
+                        avgFitness[i] = random.nextDouble() * 1000;
+                }
+            }
+            checkQuotas(avgFitness, numSpecies + random.nextInt(500));
+        }
+    }
+
+    @Test
+    public void proportionalSharesAreExact() {
+        assertArrayEquals(new int[] {10, 30, 60}, Population.allocateOffspring(new double[] {1, 3, 6}, 100));
+    }
+
+    @Test
+    public void leftoverGoesToLargestRemainders() {
+        // Shares of 3.33, 3.33 and 3.33: the single leftover goes to the oldest species.
+        assertArrayEquals(new int[] {4, 3, 3}, Population.allocateOffspring(new double[] {1, 1, 1}, 10));
+        // Shares of 1.2, 2.4 and 6.4: the leftover goes to the largest fraction, 0.4, and the tie to the older one.
+        assertArrayEquals(new int[] {1, 3, 6}, Population.allocateOffspring(new double[] {1, 2, 5.333333333}, 10));
+    }
+
+    @Test
+    public void noFitnessSplitsEvenly() {
+        checkQuotas(new double[] {0, 0, 0, 0}, 10);
+        checkQuotas(new double[] {-5, -1, 0}, 7);
+    }
+
+    @Test
+    public void negativeFitnessGetsNothing() {
+        assertArrayEquals(new int[] {0, 20, 0}, Population.allocateOffspring(new double[] {-10, 4, 0}, 20));
+    }
+
+    @Test
+    public void reportsGoToTheLogNotTheConsole() {
+        Population population = new Population(new EvolutionContext(3), 30, 3, 2, false);
+        List<String> reports = new ArrayList<>();
+        population.setLog(reports::add);
+
+        PrintStream console = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        try {
+            for(int generation = 0; generation < 3; generation++) {
+                for(int i = 0; i < population.getNetworks().size(); i++) {
+                    population.assignFitness(i, i);
+                }
+                population.naturalSelection();
+                population.incrementGeneration();
+            }
+        } finally {
+            System.setOut(console);
+        }
+
+        assertEquals(0, printed.size());
+        assertEquals(3, reports.size());
+        for(int generation = 0; generation < 3; generation++) {
+            assertTrue(reports.get(generation).contains("Generation: " + generation + "\n"));
+        }
+    }
+}
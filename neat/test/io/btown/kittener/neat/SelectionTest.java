@@ -0,0 +1,111 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the quickselect in Selection keeps exactly the networks a full sort would, including when many networks
+ * share a fitness.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class SelectionTest {
+    private final EvolutionContext context = new EvolutionContext(1);
+
+    /**
+     * Returns networks with the supplied fitness values, in order.
+     */
+    private List<Network> networksWith(double[] fitness) {
+        List<Network> networks = new ArrayList<>();
+        for(double value : fitness) {
+            Network network = new Network(context, 1, 1);
+            network.setFitness(value);
+            networks.add(network);
+        }
+        return networks;
+    }
+
+    /**
+     * Checks keepFittest against sorting the fitness values and keeping the top count.
+     */
+    private void checkAgainstSort(double[] fitness, int count) {
+        List<Network> networks = networksWith(fitness);
+        Set<Network> original = Collections.newSetFromMap(new IdentityHashMap<>());
+        original.addAll(networks);
+
+        Selection.keepFittest(networks, count);
+
+        double[] sorted = fitness.clone();
+        Arrays.sort(sorted);
+        int kept = Math.max(0, Math.min(count, fitness.length));
+        double[] expected = Arrays.copyOfRange(sorted, sorted.length - kept, sorted.length);
+        double[] actual = new double[networks.size()];
+        for(int i = 0; i < actual.length; i++) {
+            actual[i] = networks.get(i).getFitness();
+            assertTrue(original.remove(networks.get(i)));
+        }
+        if(kept > 0) {
+            assertEquals(expected[kept - 1], actual[0], 0);
+        }
+        Arrays.sort(actual);
+        assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+    }
+
+    @Test
+    public void matchesSortOnRandomFitnessWithDuplicates() {
+        Random random = new Random(42);
+        for(int trial = 0; trial < 500; trial++) {
+            int size = 1 + random.nextInt(60);
+            // A small range of values, so most runs have long ties.
+            int range = 1 + random.nextInt(8);
+            double[] fitness = new double[size];
+            for(int i = 0; i < size; i++) {
+                fitness[i] = random.nextInt(range);
+            }
+            checkAgainstSort(fitness, random.nextInt(size + 2));
+        }
+    }
+
+    @Test
+    public void matchesSortOnDistinctFitness() {
+        Random random = new Random(7);
+        for(int trial = 0; trial < 200; trial++) {
+            int size = 1 + random.nextInt(100);
+            double[] fitness = new double[size];
+            for(int i = 0; i < size; i++) {
+                fitness[i] = random.nextDouble();
+            }
+            checkAgainstSort(fitness, 1 + random.nextInt(size));
+        }
+    }
+
+    @Test
+    public void keepsEveryNetworkWhenAllAreTied() {
+        double[] fitness = new double[50];
+        Arrays.fill(fitness, 3);
+        for(int count = 0; count <= 51; count++) {
+            checkAgainstSort(fitness, count);
+        }
+    }
+
+    @Test
+    public void putsTheFittestFirst() {
+        List<Network> networks = networksWith(new double[] {1, 5, 2, 5, 9, 0});
+        Network fittest = networks.get(4);
+        Selection.keepFittest(networks, 6);
+        assertEquals(6, networks.size());
+        assertSame(fittest, networks.get(0));
+    }
+
+    @Test
+    public void keepingNoneClearsTheList() {
+        List<Network> networks = networksWith(new double[] {1, 2, 3});
+        Selection.keepFittest(networks, 0);
+        assertTrue(networks.isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package io.btown.kittener.neat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the ziggurat sampler in WeightMutator draws from a standard normal distribution, in its centre and in
+ * its tails.
+ * @author Chance Simmons and Brandon Townsend
+ * @version 19 October 2026
+ */
+public class WeightMutatorTest {
+    /** The number of samples each statistic is estimated from. */
+    private static final int SAMPLES = 2_000_000;
+
+    /** Points the cumulative distribution is checked at. */
+    private static final double[] QUANTILES = {-3, -2, -1, -0.5, 0, 0.5, 1, 2, 3};
+
+    /** The chance of a standard normal sample falling below each of the points above. */
+    private static final double[] CDF = {
+            0.0013499, 0.0227501, 0.1586553, 0.3085375, 0.5, 0.6914625, 0.8413447, 0.9772499, 0.9986501
+    };
+
+    private static double[] sample(long seed) {
+        WeightMutator mutator = new WeightMutator(new EvolutionContext(seed));
+        double[] samples = new double[SAMPLES];
+        for(int i = 0; i < SAMPLES; i++) {
+            samples[i] = mutator.nextGaussian();
+        }
+        return samples;
+    }
+
+    @Test
+    public void momentsMatchStandardNormal() {
+        double[] samples = sample(1);
+        double sum = 0;
+        for(double x : samples) {
+            sum += x;
+        }
+        double mean = sum / SAMPLES;
+
+        double squares = 0;
+        double fourths = 0;
+        for(double x : samples) {
+            double d = (x - mean) * (x - mean);
+            squares += d;
+            fourths += d * d;
+        }
+        double variance = squares / SAMPLES;
+        double kurtosis = (fourths / SAMPLES) / (variance * variance);
+
+        // The standard error of the mean is about 0.0007 and of the variance about 0.001.
+        assertEquals("mean", 0, mean, 0.004);
+        assertEquals("variance", 1, variance, 0.006);
+        assertEquals("kurtosis", 3, kurtosis, 0.04);
+    }
+
+    @Test
+    public void cumulativeDistributionMatchesStandardNormal() {
+        double[] samples = sample(2);
+        int[] below = new int[QUANTILES.length];
+        for(double x : samples) {
+            for(int q = 0; q < QUANTILES.length; q++) {
+                if(x < QUANTILES[q]) {
+                    below[q]++;
+                }
+            }
+        }
+        for(int q = 0; q < QUANTILES.length; q++) {
+            double expected = CDF[q];
+            double error = 5 * Math.sqrt(expected * (1 - expected) / SAMPLES);
+            assertEquals("P(x < " + QUANTILES[q] + ")", expected, below[q] / (double) SAMPLES, error);
+        }
+    }
+
+    @Test
+    public void tailBeyondTheBaseLayerIsSampled() {
+        // About 0.05% of samples lie beyond the base layer, which only the slow path can produce.
+        double[] samples = sample(3);
+        int beyond = 0;
+        double largest = 0;
+        for(double x : samples) {
+            if(Math.abs(x) > 3.442619855899) {
+                beyond++;
+            }
+            largest = Math.max(largest, Math.abs(x));
+        }
+        double expected = 0.000576 * SAMPLES;
+        assertEquals(expected, beyond, 5 * Math.sqrt(expected));
+        assertTrue("largest sample " + largest, largest > 4.5);
+    }
+}